@@ -0,0 +1,88 @@
+#!/usr/bin/env bash
+# Fast start of the wishlist service: AOT generated bean definitions, the faststart
+# Spring profile and a Class Data Sharing archive of the classes loaded at start.
+#
+#   mvn -Pfaststart package -DskipTests    build the jar with the AOT classes
+#   scripts/faststart.sh prepare           unpack it to target/faststart and record the CDS archive
+#   scripts/faststart.sh run [args]        start with AOT and CDS
+#   scripts/faststart.sh benchmark [runs]  time to healthy and RSS, plain jar against fast start
+#
+# The training run in prepare refreshes the context and exits, so the archive holds the
+# classes needed up to that point. Rerun prepare after every build; a stale archive is
+# rejected by the JVM with a warning and the classes are loaded from the jars instead.
+# prepare and benchmark need the database in spring.datasource, as the service does.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+JAR=$(ls target/wishlist-service-*.jar | grep -v original | head -1)
+OUT=target/faststart
+MAIN=com.ecommerce.WishList.WishListApplication
+FAST_OPTS=(-Dspring.aot.enabled=true -Dspring.profiles.active=faststart)
+
+prepare() {
+  rm -rf "$OUT"
+  mkdir -p "$OUT/unpacked"
+  (cd "$OUT/unpacked" && jar xf "../../../$JAR")
+  mv "$OUT/unpacked/BOOT-INF/lib" "$OUT/lib"
+  # CDS only archives classes from jars, so the application classes go into a thin jar
+  # that lists the libraries in its manifest, in a fixed order
+  {
+    echo "Main-Class: $MAIN"
+    echo "Class-Path: $(cd "$OUT" && ls lib/*.jar | tr '\n' ' ')" | fold -w 70 | sed '2,$s/^/ /'
+  } > "$OUT/MANIFEST.MF"
+  jar cfm "$OUT/wishlist.jar" "$OUT/MANIFEST.MF" -C "$OUT/unpacked/BOOT-INF/classes" .
+  rm -rf "$OUT/unpacked" "$OUT/MANIFEST.MF"
+
+  java -XX:ArchiveClassesAtExit="$OUT/wishlist.jsa" -Dspring.context.exit=onRefresh "${FAST_OPTS[@]}" \
+    -jar "$OUT/wishlist.jar" > "$OUT/training.log" 2>&1 || { tail -20 "$OUT/training.log"; exit 1; }
+  echo "CDS archive written to $OUT/wishlist.jsa"
+}
+
+run() {
+  exec java -XX:SharedArchiveFile="$OUT/wishlist.jsa" "${FAST_OPTS[@]}" -jar "$OUT/wishlist.jar" "$@"
+}
+
+# Starts one variant, waits until /actuator/health answers and prints "<ms> <rss kB>"
+measure() {
+  local port=9097
+  local start=$(date +%s%N)
+  "$@" --server.port=$port > "$OUT/benchmark.log" 2>&1 &
+  local pid=$!
+  until curl -sf "localhost:$port/actuator/health" > /dev/null; do
+    kill -0 $pid 2> /dev/null || { tail -20 "$OUT/benchmark.log"; exit 1; }
+    sleep 0.02
+  done
+  local end=$(date +%s%N)
+  local rss=$(awk '/VmRSS/ {print $2}' /proc/$pid/status)
+  kill $pid
+  wait $pid 2> /dev/null || true
+  echo "$(( (end - start) / 1000000 )) $rss"
+}
+
+benchmark() {
+  local runs=${1:-5}
+  [ -f "$OUT/wishlist.jsa" ] || prepare
+  local variants=("jar" "aot" "aot+cds")
+  local -A commands=(
+    [jar]="java -jar $JAR"
+    [aot]="java ${FAST_OPTS[*]} -jar $OUT/wishlist.jar"
+    [aot+cds]="java -XX:SharedArchiveFile=$OUT/wishlist.jsa ${FAST_OPTS[*]} -jar $OUT/wishlist.jar"
+  )
+  printf '%-8s %14s %14s\n' variant "healthy (ms)" "RSS (MB)"
+  for variant in "${variants[@]}"; do
+    local total_ms=0 total_rss=0
+    for ((i = 0; i < runs; i++)); do
+      read -r ms rss < <(measure ${commands[$variant]})
+      total_ms=$((total_ms + ms))
+      total_rss=$((total_rss + rss))
+    done
+    printf '%-8s %14d %14d\n' "$variant" $((total_ms / runs)) $((total_rss / runs / 1024))
+  done
+}
+
+case "${1:-}" in
+  prepare) prepare ;;
+  run) shift; run "$@" ;;
+  benchmark) shift; benchmark "$@" ;;
+  *) sed -n '2,14p' "$0"; exit 1 ;;
+esac
@@ -0,0 +1,34 @@
+package com.ecommerce.WishList.benchmark;
+
+import com.ecommerce.WishList.WishListApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the application for a benchmark trial. The test classpath configuration
+ * (in-memory H2) is used unless overridden, e.g. to point at a local Postgres:
+ * -jvmArgsAppend "-Dspring.datasource.url=jdbc:postgresql://localhost:5432/bench?reWriteBatchedInserts=true
+ * -Dspring.datasource.driver-class-name=org.postgresql.Driver -Dspring.datasource.username=postgres"
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        return builder(WebApplicationType.NONE, properties).run();
+    }
+
+    // Same as start(), with the embedded server listening on a random port
+    static ConfigurableApplicationContext startServer(String... properties) {
+        return builder(WebApplicationType.SERVLET, properties).run("--server.port=0");
+    }
+
+    private static SpringApplicationBuilder builder(WebApplicationType webApplicationType, String... properties) {
+        return new SpringApplicationBuilder(WishListApplication.class)
+                .web(webApplicationType)
+                .properties("spring.jpa.show-sql=false", "logging.level.com.ecommerce.WishList=WARN")
+                .properties(properties);
+    }
+}
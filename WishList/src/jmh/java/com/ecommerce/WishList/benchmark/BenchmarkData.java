@@ -0,0 +1,55 @@
+package com.ecommerce.WishList.benchmark;
+
+import com.ecommerce.WishList.entity.WishlistIdGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds users, products and wishlist rows with plain JDBC batches.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static List<Integer> seedUsers(JdbcTemplate jdbcTemplate, int count) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{"bench", "user" + i, "bench-user-" + i + "@example.com"});
+        }
+        jdbcTemplate.batchUpdate("insert into users (first_name, last_name, email) values (?, ?, ?)", rows);
+        return jdbcTemplate.queryForList("select id from users where email like 'bench-user-%' order by id", Integer.class);
+    }
+
+    static List<Integer> seedProducts(JdbcTemplate jdbcTemplate, int count) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{"Product " + i, "Benchmark product", 10.0 + i, 1_000});
+        }
+        jdbcTemplate.batchUpdate("insert into products (name, description, price, stock) values (?, ?, ?, ?)", rows);
+        return jdbcTemplate.queryForList("select id from products where description = 'Benchmark product' order by id",
+                Integer.class);
+    }
+
+    // Wishlists every user with every product in the given id range
+    static void seedWishlist(JdbcTemplate jdbcTemplate, int fromProductId, int toProductId) {
+        jdbcTemplate.update("insert into wishlist (id, user_id, product_id, created_date) "
+                + "select nextval('" + WishlistIdGenerator.SEQUENCE_NAME + "'), u.id, p.id, current_timestamp "
+                + "from users u cross join products p where p.id between ? and ?", fromProductId, toProductId);
+    }
+
+    // Removes the seeded rows, for databases that outlive the fork
+    static void clear(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("delete from wishlist where product_id in "
+                + "(select id from products where description = 'Benchmark product') "
+                + "or user_id in (select id from users where email like 'bench-user-%')");
+        jdbcTemplate.update("delete from users where email like 'bench-user-%'");
+        jdbcTemplate.update("delete from products where description = 'Benchmark product'");
+    }
+
+    static void clearWishlist(JdbcTemplate jdbcTemplate, int fromProductId, int toProductId) {
+        jdbcTemplate.update("delete from wishlist where product_id between ? and ?", fromProductId, toProductId);
+    }
+}
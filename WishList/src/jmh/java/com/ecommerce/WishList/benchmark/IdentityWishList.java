@@ -0,0 +1,43 @@
+package com.ecommerce.WishList.benchmark;
+
+import com.ecommerce.WishList.entity.Product;
+import com.ecommerce.WishList.entity.User;
+import jakarta.persistence.*;
+
+import java.util.Date;
+
+/**
+ * Same shape as WishList but with IDENTITY ids, which make Hibernate insert row by row.
+ * Only used as the baseline in {@link WishlistInsertBenchmark}.
+ */
+@Entity
+@Table(name = "wishlist_identity")
+public class IdentityWishList {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", nullable = false)
+    private Product product;
+
+    @Column(name = "created_date")
+    private Date createdDate = new Date();
+
+    public IdentityWishList() {
+    }
+
+    public IdentityWishList(User user, Product product) {
+        this.user = user;
+        this.product = product;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+}
@@ -0,0 +1,93 @@
+package com.ecommerce.WishList.benchmark;
+
+import com.ecommerce.WishList.entity.Product;
+import com.ecommerce.WishList.entity.User;
+import com.ecommerce.WishList.entity.WishList;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * Bulk wishlist population with pooled sequence ids (JDBC batched) against the
+ * IDENTITY baseline (one round trip per row). Scores are rows inserted per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class WishlistInsertBenchmark {
+
+    private static final int ROWS = 500;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private List<Integer> productIds;
+    private int userSequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        productIds = transactionTemplate.execute(status -> {
+            List<Integer> ids = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                Product product = new Product();
+                product.setName("Product " + i);
+                product.setPrice(10.0);
+                product.setStock(100);
+                entityManager.persist(product);
+                ids.add(product.getId());
+            }
+            return ids;
+        });
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createQuery("delete from WishList").executeUpdate();
+            entityManager.createQuery("delete from IdentityWishList").executeUpdate();
+            entityManager.createQuery("delete from User").executeUpdate();
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void pooledSequenceIds() {
+        insertWishlist(WishList::new);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void identityIds() {
+        insertWishlist(IdentityWishList::new);
+    }
+
+    private void insertWishlist(BiFunction<User, Product, Object> rowFactory) {
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = new User();
+            user.setFirstName("bench");
+            user.setEmail("bench-" + (++userSequence) + "@example.com");
+            entityManager.persist(user);
+            for (Integer productId : productIds) {
+                entityManager.persist(rowFactory.apply(user, entityManager.getReference(Product.class, productId)));
+            }
+        });
+    }
+}
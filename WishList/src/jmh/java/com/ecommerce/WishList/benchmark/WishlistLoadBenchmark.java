@@ -0,0 +1,82 @@
+package com.ecommerce.WishList.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop HTTP load against the running service, comparing the default
+ * thread-per-request model with virtual threads plus the database limiter.
+ * <p>
+ * Each JMH thread is one client issuing scroll requests, which always reach the
+ * database. Throughput and the latency distribution (see the p0.99/p0.999 lines of
+ * the sample mode) are reported per thread model. Client concurrency is set above
+ * Tomcat's 200 worker threads; change it with {@code -t}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Threads(400)
+@Fork(1)
+public class WishlistLoadBenchmark {
+
+    @Param({"platform", "virtual"})
+    public String threadModel;
+
+    @Param("1000")
+    public int users;
+
+    @Param("50")
+    public int wishlistSize;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private List<Integer> userIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean virtual = threadModel.equals("virtual");
+        // Permit timeout matches Hikari's connection timeout, so both models queue rather than shed
+        context = BenchmarkContext.startServer("spring.threads.virtual.enabled=" + virtual,
+                "wishlist.db-limiter.enabled=" + virtual, "wishlist.db-limiter.acquire-timeout=30s");
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        userIds = BenchmarkData.seedUsers(jdbcTemplate, users);
+        List<Integer> productIds = BenchmarkData.seedProducts(jdbcTemplate, wishlistSize);
+        BenchmarkData.seedWishlist(jdbcTemplate, productIds.get(0), productIds.get(wishlistSize - 1));
+
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port + "/wishlist/user/";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkData.clear(context.getBean(JdbcTemplate.class));
+        context.close();
+    }
+
+    @Benchmark
+    public String scrollWishlist() throws IOException, InterruptedException {
+        Integer userId = userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + userId + "/scroll?size=20")).build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+}
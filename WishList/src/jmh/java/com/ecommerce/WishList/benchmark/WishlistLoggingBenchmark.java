@@ -0,0 +1,100 @@
+package com.ecommerce.WishList.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of logging on the scroll endpoint, which always reaches the database.
+ * <p>
+ * {@code verbose} is the logging the service used to ship with: SQL printed and
+ * formatted, a line per request from the service and a synchronous console appender.
+ * {@code prod} is the prod profile: SQL logging off, the sampled access log and the
+ * async appenders. Console output is discarded, so only the cost of producing it is
+ * measured. Run with {@code -prof gc} and compare gc.alloc.rate.norm, the bytes
+ * allocated per request (client side included, which is the same in both modes).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class WishlistLoggingBenchmark {
+
+    @Param({"verbose", "prod"})
+    public String logging;
+
+    @Param("100")
+    public int users;
+
+    @Param("50")
+    public int wishlistSize;
+
+    private final Map<String, String> properties = new LinkedHashMap<>();
+    private PrintStream out;
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private List<Integer> userIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (logging.equals("verbose")) {
+            properties.put("spring.jpa.show-sql", "true");
+            properties.put("spring.jpa.properties.hibernate.format_sql", "true");
+            properties.put("logging.level.com.ecommerce.WishList", "DEBUG");
+            properties.put("wishlist.access-log.sample-rate", "1");
+            properties.put("wishlist.logging.console-appender", "CONSOLE");
+        } else {
+            properties.put("spring.profiles.active", "prod");
+        }
+        // System properties, as the test classpath application.properties outranks builder defaults
+        properties.forEach(System::setProperty);
+        out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        context = BenchmarkContext.startServer();
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        userIds = BenchmarkData.seedUsers(jdbcTemplate, users);
+        List<Integer> productIds = BenchmarkData.seedProducts(jdbcTemplate, wishlistSize);
+        BenchmarkData.seedWishlist(jdbcTemplate, productIds.get(0), productIds.get(wishlistSize - 1));
+
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port + "/wishlist/user/";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        System.setOut(out);
+        properties.keySet().forEach(System::clearProperty);
+        properties.clear();
+    }
+
+    @Benchmark
+    public int scroll() throws IOException, InterruptedException {
+        Integer userId = userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + userId + "/scroll?size=20")).build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Scroll returned " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,125 @@
+package com.ecommerce.WishList.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user query latency on a plain wishlist table against the same rows hash
+ * partitioned on user_id (see db/scripts/005_wishlist_hash_partitioning.sql).
+ * <p>
+ * Needs Postgres, see {@link BenchmarkContext}. The rows live in their own
+ * bench_wishlist_* tables, which are kept between runs and only rebuilt when
+ * {@code rows} or {@code users} change: seeding 100M rows takes a while. Every user
+ * gets rows / users items. The queries are the ones the repository issues: a page
+ * in (created_date, id) order, a membership check, and an add followed by a remove.
+ * Use a smaller table for a quick look, e.g. {@code -p rows=10000000 -p users=200000}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class WishlistPartitionBenchmark {
+
+    private static final int PARTITIONS = 16;
+
+    @Param({"plain", "hash"})
+    public String layout;
+
+    @Param("100000000")
+    public long rows;
+
+    @Param("2000000")
+    public int users;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private String table;
+    private int itemsPerUser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        String database = jdbcTemplate.queryForObject("select version()", String.class);
+        if (database == null || !database.startsWith("PostgreSQL")) {
+            throw new IllegalStateException("Partitioning needs Postgres, see BenchmarkContext for the datasource flags");
+        }
+        table = "bench_wishlist_" + layout;
+        itemsPerUser = (int) (rows / users);
+        String seeded = "rows=" + rows + ",users=" + users;
+        if (!seeded.equals(jdbcTemplate.queryForObject("select obj_description(to_regclass(?), 'pg_class')",
+                String.class, table))) {
+            seed(seeded);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> pageByUser() {
+        return jdbcTemplate.queryForList("select id, product_id, created_date from " + table
+                + " where user_id = ? order by created_date, id limit 20", randomUser());
+    }
+
+    @Benchmark
+    public List<Integer> containsByUser() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return jdbcTemplate.queryForList("select product_id from " + table + " where user_id = ? and product_id in (?, ?, ?)",
+                Integer.class, randomUser(), random.nextInt(1, itemsPerUser + 1), random.nextInt(1, itemsPerUser + 1),
+                itemsPerUser + 1);
+    }
+
+    // Product ids above itemsPerUser are never seeded, so the pair is always new
+    @Benchmark
+    public int addAndRemove() {
+        int userId = randomUser();
+        int productId = itemsPerUser + 1 + ThreadLocalRandom.current().nextInt(1_000);
+        int added = jdbcTemplate.update("insert into " + table + " (id, user_id, product_id, created_date) "
+                + "values (nextval('" + table + "_seq'), ?, ?, current_timestamp) "
+                + "on conflict (user_id, product_id) do nothing", userId, productId);
+        return added + jdbcTemplate.update("delete from " + table + " where user_id = ? and product_id = ?",
+                userId, productId);
+    }
+
+    private int randomUser() {
+        return ThreadLocalRandom.current().nextInt(1, users + 1);
+    }
+
+    // Row g belongs to user g % users + 1 and product g / users + 1, so pairs are unique
+    private void seed(String seeded) {
+        jdbcTemplate.execute("drop table if exists " + table);
+        jdbcTemplate.execute("drop sequence if exists " + table + "_seq");
+        jdbcTemplate.execute("create sequence " + table + "_seq start with " + (rows + 1));
+        String columns = "(id integer not null, user_id integer not null, product_id integer not null, created_date timestamp(6))";
+        if (layout.equals("hash")) {
+            jdbcTemplate.execute("create table " + table + " " + columns + " partition by hash (user_id)");
+            for (int remainder = 0; remainder < PARTITIONS; remainder++) {
+                jdbcTemplate.execute("create table " + table + "_p" + remainder + " partition of " + table
+                        + " for values with (modulus " + PARTITIONS + ", remainder " + remainder + ")");
+            }
+        } else {
+            jdbcTemplate.execute("create table " + table + " " + columns);
+        }
+        jdbcTemplate.update("insert into " + table + " (id, user_id, product_id, created_date) "
+                + "select g + 1, g % ? + 1, g / ? + 1, timestamp '2024-01-01' + g * interval '1 second' "
+                + "from generate_series(0::bigint, ? - 1) g", users, users, rows);
+        // Partitioned tables need the partition key in every unique constraint
+        jdbcTemplate.execute("alter table " + table + " add primary key " + (layout.equals("hash") ? "(user_id, id)" : "(id)"));
+        jdbcTemplate.execute("alter table " + table + " add unique (user_id, product_id)");
+        jdbcTemplate.execute("create index on " + table + " (user_id, created_date, id)");
+        jdbcTemplate.execute("create index on " + table + " (created_date, product_id)");
+        jdbcTemplate.execute("vacuum analyze " + table);
+        jdbcTemplate.execute("comment on table " + table + " is '" + seeded + "'");
+    }
+}
@@ -0,0 +1,74 @@
+package com.ecommerce.WishList.benchmark;
+
+import com.ecommerce.WishList.dto.WishlistItemView;
+import com.ecommerce.WishList.entity.Product;
+import com.ecommerce.WishList.entity.User;
+import com.ecommerce.WishList.entity.WishList;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of the GET /wishlist/user/{userId} response body: the WishlistItemView
+ * read model against the WishList entities (with nested user and product) it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class WishlistSerializationBenchmark {
+
+    @Param({"5", "20", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private List<WishlistItemView> itemViews;
+    private List<WishList> entities;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        User user = new User();
+        user.setId(1);
+        user.setFirstName("megha");
+        user.setLastName("biradar");
+        user.setEmail("megha.b@example.com");
+
+        itemViews = new ArrayList<>(pageSize);
+        entities = new ArrayList<>(pageSize);
+        Date createdDate = new Date();
+        for (int i = 0; i < pageSize; i++) {
+            Product product = new Product();
+            product.setId(i);
+            product.setName("Product " + i);
+            product.setDescription("A product description of typical length for the catalog");
+            product.setPrice(10.0 + i);
+            product.setStock(5);
+
+            WishList entity = new WishList(user, product);
+            entity.setId(i);
+            entity.setCreatedDate(createdDate);
+            entities.add(entity);
+            itemViews.add(new WishlistItemView(i, i, product.getName(), product.getPrice(), product.getStock(), createdDate));
+        }
+    }
+
+    @Benchmark
+    public byte[] itemViews() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(itemViews);
+    }
+
+    @Benchmark
+    public byte[] entities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(entities);
+    }
+}
@@ -0,0 +1,130 @@
+package com.ecommerce.WishList.benchmark;
+
+import com.ecommerce.WishList.dto.WishlistAddResult;
+import com.ecommerce.WishList.dto.WishlistItemView;
+import com.ecommerce.WishList.service.WishlistService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot paths of {@link WishlistService} against a seeded database.
+ * <p>
+ * Every user has {@code wishlistSize} products in the wishlist. The add benchmark
+ * walks the remaining (user, product) pairs and the remove benchmark walks the same
+ * pairs after they have been seeded; both are reset before each iteration.
+ * The add path uses Postgres-only SQL, so run it against Postgres (see {@link BenchmarkContext}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class WishlistServiceBenchmark {
+
+    @Param("500")
+    public int users;
+
+    @Param("200")
+    public int products;
+
+    @Param("20")
+    public int wishlistSize;
+
+    @Param("20")
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private WishlistService wishlistService;
+    private JdbcTemplate jdbcTemplate;
+    private List<Integer> userIds;
+    private List<Integer> productIds;
+
+    private int readCursor;
+    private long writeCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        wishlistService = context.getBean(WishlistService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        userIds = BenchmarkData.seedUsers(jdbcTemplate, users);
+        productIds = BenchmarkData.seedProducts(jdbcTemplate, products);
+        BenchmarkData.seedWishlist(jdbcTemplate, productIds.get(0), productIds.get(wishlistSize - 1));
+
+        // Fill the cache so the cached benchmark measures hits only
+        userIds.forEach(userId -> wishlistService.getWishlistItems(userId, 0, pageSize));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Benchmark)
+    public static class AddState {
+        @Setup(Level.Iteration)
+        public void reset(WishlistServiceBenchmark benchmark) {
+            benchmark.writeCursor = 0;
+            BenchmarkData.clearWishlist(benchmark.jdbcTemplate,
+                    benchmark.productIds.get(benchmark.wishlistSize), benchmark.productIds.get(benchmark.products - 1));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class RemoveState {
+        @Setup(Level.Iteration)
+        public void reset(WishlistServiceBenchmark benchmark) {
+            benchmark.writeCursor = 0;
+            int from = benchmark.productIds.get(benchmark.wishlistSize);
+            int to = benchmark.productIds.get(benchmark.products - 1);
+            BenchmarkData.clearWishlist(benchmark.jdbcTemplate, from, to);
+            BenchmarkData.seedWishlist(benchmark.jdbcTemplate, from, to);
+        }
+    }
+
+    // Same pages over and over: served by wishlistCache after the first call
+    @Benchmark
+    public Page<WishlistItemView> getWishlistItemsCached() {
+        return wishlistService.getWishlistItems(nextReadUser(), 0, pageSize);
+    }
+
+    // Bypasses the cache: projection query plus count
+    @Benchmark
+    public Page<WishlistItemView> getWishlistItemsUncached() {
+        return wishlistService.loadWishlistPage(nextReadUser(), 0, pageSize);
+    }
+
+    @Benchmark
+    public WishlistAddResult addToWishlist(AddState state) {
+        long pair = writeCursor++;
+        return wishlistService.addToWishlist(writeUser(pair), writeProduct(pair));
+    }
+
+    @Benchmark
+    public void removeFromWishlist(RemoveState state) {
+        long pair = writeCursor++;
+        wishlistService.removeFromWishlist(writeUser(pair), writeProduct(pair));
+    }
+
+    private Integer nextReadUser() {
+        readCursor = (readCursor + 1) % users;
+        return userIds.get(readCursor);
+    }
+
+    // Pairs beyond the seeded range wrap around; size the params so an iteration stays within it
+    private Integer writeUser(long pair) {
+        return userIds.get((int) (pair % users));
+    }
+
+    private Integer writeProduct(long pair) {
+        int writable = products - wishlistSize;
+        return productIds.get(wishlistSize + (int) ((pair / users) % writable));
+    }
+}
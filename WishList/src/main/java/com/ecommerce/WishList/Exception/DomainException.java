@@ -0,0 +1,14 @@
+package com.ecommerce.WishList.Exception;
+
+/**
+ * Base of the exceptions that report an expected outcome to the client, such as an
+ * unknown user or an out of stock product. They are raised on ordinary traffic and
+ * always handled by GlobalException, so they skip filling in a stack trace, which
+ * is most of the cost of throwing.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -1,6 +1,6 @@
 package com.ecommerce.WishList.Exception;
 
-public class DuplicateWishlistItemException extends RuntimeException {
+public class DuplicateWishlistItemException extends DomainException {
     public DuplicateWishlistItemException(String message) {
         super(message);
     }
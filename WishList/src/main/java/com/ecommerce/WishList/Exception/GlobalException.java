@@ -1,50 +1,101 @@
 package com.ecommerce.WishList.Exception;
 
+import com.ecommerce.WishList.logging.RateLimitedLogger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import java.time.Duration;
+
+// Errors are sent as RFC 7807 problem details (application/problem+json)
 @ControllerAdvice
 public class GlobalException {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalException.class);
 
+    // Client errors and shed requests are part of normal traffic: one line per kind every 10 seconds is enough
+    private static final RateLimitedLogger clientErrorLogger = new RateLimitedLogger(logger, Duration.ofSeconds(10));
+
     @ExceptionHandler(UserNotFoundException.class)
-    public ResponseEntity<String> handleUserNotFoundException(UserNotFoundException ex) {
-        logger.warn("User not found: {}", ex.getMessage());
-        return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
+    public ResponseEntity<ProblemDetail> handleUserNotFoundException(UserNotFoundException ex) {
+        clientErrorLogger.warn("user-not-found", "User not found: {}", ex.getMessage());
+        return problem(HttpStatus.NOT_FOUND, ex.getMessage());
     }
 
     @ExceptionHandler(ProductNotFoundException.class)
-    public ResponseEntity<String> handleProductNotFoundException(ProductNotFoundException ex) {
-        logger.warn("Product not found: {}", ex.getMessage());
-        return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
+    public ResponseEntity<ProblemDetail> handleProductNotFoundException(ProductNotFoundException ex) {
+        clientErrorLogger.warn("product-not-found", "Product not found: {}", ex.getMessage());
+        return problem(HttpStatus.NOT_FOUND, ex.getMessage());
     }
 
     @ExceptionHandler(ProductOutOfStockException.class)
-    public ResponseEntity<String> handleProductOutOfStockException(ProductOutOfStockException ex) {
-        logger.warn("Product out of stock: {}", ex.getMessage());
-        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    public ResponseEntity<ProblemDetail> handleProductOutOfStockException(ProductOutOfStockException ex) {
+        clientErrorLogger.warn("product-out-of-stock", "Product out of stock: {}", ex.getMessage());
+        return problem(HttpStatus.BAD_REQUEST, ex.getMessage());
     }
 
     @ExceptionHandler(DuplicateWishlistItemException.class)
-    public ResponseEntity<String> handleDuplicateWishlistItemException(DuplicateWishlistItemException ex) {
-        logger.warn("Duplicate wishlist item: {}", ex.getMessage());
-        return new ResponseEntity<>(ex.getMessage(), HttpStatus.CONFLICT);
+    public ResponseEntity<ProblemDetail> handleDuplicateWishlistItemException(DuplicateWishlistItemException ex) {
+        clientErrorLogger.warn("duplicate-wishlist-item", "Duplicate wishlist item: {}", ex.getMessage());
+        return problem(HttpStatus.CONFLICT, ex.getMessage());
     }
 
     @ExceptionHandler(WishlistNotFoundException.class)
-    public ResponseEntity<String> handleWishlistNotFoundException(WishlistNotFoundException ex) {
-        logger.warn("Wishlist not found: {}", ex.getMessage());
-        return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
+    public ResponseEntity<ProblemDetail> handleWishlistNotFoundException(WishlistNotFoundException ex) {
+        clientErrorLogger.warn("wishlist-not-found", "Wishlist not found: {}", ex.getMessage());
+        return problem(HttpStatus.NOT_FOUND, ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ProblemDetail> handleInvalidCursorException(InvalidCursorException ex) {
+        clientErrorLogger.warn("invalid-cursor", "Invalid cursor: {}", ex.getMessage());
+        return problem(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidBulkRequestException.class)
+    public ResponseEntity<ProblemDetail> handleInvalidBulkRequestException(InvalidBulkRequestException ex) {
+        clientErrorLogger.warn("invalid-bulk-request", "Invalid bulk request: {}", ex.getMessage());
+        return problem(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidTrendingRequestException.class)
+    public ResponseEntity<ProblemDetail> handleInvalidTrendingRequestException(InvalidTrendingRequestException ex) {
+        clientErrorLogger.warn("invalid-trending-request", "Invalid trending request: {}", ex.getMessage());
+        return problem(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @ExceptionHandler(WriteBehindQueueFullException.class)
+    public ResponseEntity<ProblemDetail> handleWriteBehindQueueFullException(WriteBehindQueueFullException ex) {
+        clientErrorLogger.warn("write-behind-queue-full", "Write-behind queue full: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage()));
+    }
+
+    // No database connection within the limiter or pool timeout: shed the request
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ProblemDetail> handleDatabaseBusyException(Exception ex) {
+        logger.warn("Database busy: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, "Service is busy, please retry"));
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<String> handleGenericException(Exception ex) {
+    public ResponseEntity<ProblemDetail> handleGenericException(Exception ex) {
         logger.error("Unexpected error occurred: {}", ex.getMessage(), ex);
-        return new ResponseEntity<>("An error occurred: " + ex.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        return problem(HttpStatus.INTERNAL_SERVER_ERROR, "An error occurred: " + ex.getMessage());
+    }
+
+    // The title is the status reason phrase; Spring fills in the request path as the instance
+    private static ResponseEntity<ProblemDetail> problem(HttpStatus status, String detail) {
+        return ResponseEntity.status(status).body(ProblemDetail.forStatusAndDetail(status, detail));
     }
 }
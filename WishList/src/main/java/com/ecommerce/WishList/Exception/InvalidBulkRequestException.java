@@ -0,0 +1,7 @@
+package com.ecommerce.WishList.Exception;
+
+public class InvalidBulkRequestException extends DomainException {
+    public InvalidBulkRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.ecommerce.WishList.Exception;
+
+public class InvalidCursorException extends DomainException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.ecommerce.WishList.Exception;
+
+public class InvalidTrendingRequestException extends DomainException {
+    public InvalidTrendingRequestException(String message) {
+        super(message);
+    }
+}
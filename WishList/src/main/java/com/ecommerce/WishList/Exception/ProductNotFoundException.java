@@ -1,6 +1,6 @@
 package com.ecommerce.WishList.Exception;
 
-public class ProductNotFoundException extends RuntimeException {
+public class ProductNotFoundException extends DomainException {
     public ProductNotFoundException(String message) {
         super(message);
     }
@@ -1,6 +1,6 @@
 package com.ecommerce.WishList.Exception;
 
-public class ProductOutOfStockException extends RuntimeException {
+public class ProductOutOfStockException extends DomainException {
     public ProductOutOfStockException(String message) {
         super(message);
     }
@@ -1,6 +1,6 @@
 package com.ecommerce.WishList.Exception;
 
-public class UserNotFoundException extends RuntimeException {
+public class UserNotFoundException extends DomainException {
     public UserNotFoundException(String message) {
         super(message);
     }
@@ -1,6 +1,6 @@
 package com.ecommerce.WishList.Exception;
 
-public class WishlistNotFoundException extends RuntimeException {
+public class WishlistNotFoundException extends DomainException {
     public WishlistNotFoundException(String message) {
         super(message);
     }
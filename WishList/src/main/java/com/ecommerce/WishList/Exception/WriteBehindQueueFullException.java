@@ -0,0 +1,7 @@
+package com.ecommerce.WishList.Exception;
+
+public class WriteBehindQueueFullException extends DomainException {
+    public WriteBehindQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,49 @@
+package com.ecommerce.WishList.cache;
+
+import com.ecommerce.WishList.entity.Product;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener on {@link Product} that drops the product from the near-cache.
+ * Inside a transaction the entry is invalidated after commit, so a concurrent read
+ * cannot cache the old row again before the new one is visible.
+ * <p>
+ * Hibernate creates this listener while the entity manager factory is being built, before
+ * the repositories behind the cache exist, so the cache is looked up on first use.
+ */
+@Component
+public class ProductCacheInvalidator {
+
+    private final ObjectProvider<ProductNearCache> productCache;
+
+    public ProductCacheInvalidator(ObjectProvider<ProductNearCache> productCache) {
+        this.productCache = productCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void productChanged(Product product) {
+        Integer productId = product.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(productId);
+                }
+            });
+        } else {
+            invalidate(productId);
+        }
+    }
+
+    private void invalidate(Integer productId) {
+        productCache.ifAvailable(cache -> cache.invalidate(productId));
+    }
+}
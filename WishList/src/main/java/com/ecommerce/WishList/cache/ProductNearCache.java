@@ -0,0 +1,73 @@
+package com.ecommerce.WishList.cache;
+
+import com.ecommerce.WishList.config.WishlistCacheProperties;
+import com.ecommerce.WishList.dto.ProductSnapshot;
+import com.ecommerce.WishList.repository.ProductRepository;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Size bounded cache of {@link ProductSnapshot}s by product id.
+ * <p>
+ * Entries are refreshed in the background a few seconds after they were loaded, so stock
+ * read from here is at most that old, and expire if they have not been refreshed for longer.
+ * Misses for several ids are loaded with one query. Products that do not exist are not
+ * cached. Catalog changes made through JPA invalidate entries after commit
+ * (see {@link ProductCacheInvalidator}); other writers should call {@link #invalidate}.
+ */
+@Component
+public class ProductNearCache {
+
+    private final LoadingCache<Integer, ProductSnapshot> cache;
+
+    public ProductNearCache(ProductRepository productRepository, WishlistCacheProperties properties) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getProductMaximumSize())
+                .refreshAfterWrite(properties.getProductRefreshAfterWrite())
+                .expireAfterWrite(properties.getProductExpireAfterWrite())
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public ProductSnapshot load(Integer productId) {
+                        return loadAll(Set.of(productId)).get(productId);
+                    }
+
+                    @Override
+                    public Map<Integer, ProductSnapshot> loadAll(Set<? extends Integer> productIds) {
+                        return productRepository.findSnapshotsByIdIn(List.copyOf(productIds)).stream()
+                                .collect(Collectors.toMap(ProductSnapshot::id, Function.identity()));
+                    }
+                });
+    }
+
+    public LoadingCache<Integer, ProductSnapshot> getNativeCache() {
+        return cache;
+    }
+
+    public Optional<ProductSnapshot> get(Integer productId) {
+        return Optional.ofNullable(cache.get(productId));
+    }
+
+    // Only products that exist are in the returned map
+    public Map<Integer, ProductSnapshot> getAll(Collection<Integer> productIds) {
+        return cache.getAll(productIds);
+    }
+
+    public void invalidate(Integer productId) {
+        cache.invalidate(productId);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,90 @@
+package com.ecommerce.WishList.cache;
+
+import com.ecommerce.WishList.config.WishlistCacheProperties;
+import com.ecommerce.WishList.event.WishlistChangedEvent;
+import com.ecommerce.WishList.repository.WishlistRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Product ids in each user's wishlist, kept as a sorted {@code int[]} so a membership
+ * check is a binary search over a few hundred bytes instead of a query.
+ * <p>
+ * A user's set is loaded on first use with one query and bounded by the total number
+ * of product ids held. Arrays are never modified in place: committed changes are
+ * applied with a copy inside {@code compute}, which also waits for a load of the same
+ * user that is still running, so the change cannot be lost.
+ */
+@Component
+public class WishlistMembershipIndex {
+
+    private final WishlistRepository wishlistRepository;
+    private final Cache<Integer, int[]> cache;
+
+    public WishlistMembershipIndex(WishlistRepository wishlistRepository, WishlistCacheProperties properties) {
+        this.wishlistRepository = wishlistRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMembershipMaximumWeight())
+                .weigher((Integer userId, int[] productIds) -> 1 + productIds.length)
+                .expireAfterAccess(properties.getMembershipExpireAfterAccess())
+                .recordStats()
+                .build();
+    }
+
+    public Cache<Integer, int[]> getNativeCache() {
+        return cache;
+    }
+
+    // Membership of every requested product, in request order
+    public Map<Integer, Boolean> contains(Integer userId, Collection<Integer> productIds) {
+        int[] members = cache.get(userId, this::load);
+        Map<Integer, Boolean> result = new LinkedHashMap<>();
+        for (Integer productId : productIds) {
+            result.put(productId, Arrays.binarySearch(members, productId) >= 0);
+        }
+        return result;
+    }
+
+    // Runs after commit, or straight away when published outside a transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWishlistChanged(WishlistChangedEvent event) {
+        cache.asMap().computeIfPresent(event.userId(),
+                (userId, members) -> apply(members, event.addedProductIds(), event.removedProductIds()));
+    }
+
+    public void invalidate(Integer userId) {
+        cache.invalidate(userId);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private int[] load(Integer userId) {
+        return wishlistRepository.findProductIdsByUserId(userId).stream()
+                .mapToInt(Integer::intValue)
+                .sorted()
+                .distinct()
+                .toArray();
+    }
+
+    static int[] apply(int[] members, Collection<Integer> added, Collection<Integer> removed) {
+        int[] merged = Arrays.copyOf(members, members.length + added.size());
+        int size = members.length;
+        for (Integer productId : added) {
+            merged[size++] = productId;
+        }
+        return Arrays.stream(merged, 0, size)
+                .filter(productId -> !removed.contains(productId))
+                .sorted()
+                .distinct()
+                .toArray();
+    }
+}
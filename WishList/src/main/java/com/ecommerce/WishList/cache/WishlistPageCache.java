@@ -0,0 +1,219 @@
+package com.ecommerce.WishList.cache;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.data.domain.Slice;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+/**
+ * Caffeine backed cache for wishlist pages.
+ * <p>
+ * Entries are grouped per user, so a write can drop every cached page of that user
+ * with a single invalidation. Evicting with an {@link Integer} key removes all pages
+ * of that user, evicting with a {@link WishlistPageKey} removes a single page.
+ * The cache is bounded by weight (one unit per page plus one per row) and by
+ * the number of pages kept per user.
+ * <p>
+ * A user's pages all belong to one wishlist version (see {@link WishlistPageKey}).
+ * A lookup for another version misses, and storing a page of a newer version drops
+ * the older pages, so once this node has learnt of a newer version, e.g. from another
+ * node, its stale pages are never served. Pages of an older version are not stored.
+ * <p>
+ * Hits and misses are recorded per page rather than per user, so the native cache
+ * statistics reflect what callers actually see.
+ */
+public class WishlistPageCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final int maxPagesPerUser;
+    private final StatsCounter statsCounter = new ConcurrentStatsCounter();
+    private final LoadingCache<Integer, UserPages> cache;
+
+    public WishlistPageCache(String name, long maximumWeight, int maxPagesPerUser,
+                             Duration expireAfterWrite, Duration refreshAfterWrite,
+                             Function<WishlistPageKey, Object> pageLoader) {
+        super(false);
+        this.name = name;
+        this.maxPagesPerUser = maxPagesPerUser;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((Integer userId, UserPages pages) -> pages.weight())
+                .expireAfterWrite(expireAfterWrite)
+                .refreshAfterWrite(refreshAfterWrite)
+                .recordStats(() -> statsCounter)
+                .build(new CacheLoader<>() {
+                    @Override
+                    public UserPages load(Integer userId) {
+                        // Entries are only ever populated through put()
+                        return null;
+                    }
+
+                    @Override
+                    public UserPages reload(Integer userId, UserPages pages) {
+                        return pages.reload(pageLoader);
+                    }
+                });
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public LoadingCache<Integer, UserPages> getNativeCache() {
+        return cache;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        WishlistPageKey pageKey = pageKey(key);
+        // The map view does not record stats, the page level outcome is recorded instead
+        UserPages pages = cache.asMap().get(pageKey.userId());
+        Object value = pages != null ? pages.get(pageKey) : null;
+        if (value != null) {
+            statsCounter.recordHits(1);
+        } else {
+            statsCounter.recordMisses(1);
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object storeValue = lookup(key);
+        if (storeValue != null) {
+            return (T) fromStoreValue(storeValue);
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        WishlistPageKey pageKey = pageKey(key);
+        Object storeValue = toStoreValue(value);
+        cache.asMap().compute(pageKey.userId(),
+                (userId, pages) -> (pages != null ? pages : UserPages.EMPTY).with(pageKey, storeValue, maxPagesPerUser));
+    }
+
+    @Override
+    public void evict(Object key) {
+        if (key instanceof Integer userId) {
+            cache.invalidate(userId);
+            return;
+        }
+        WishlistPageKey pageKey = pageKey(key);
+        cache.asMap().computeIfPresent(pageKey.userId(), (userId, pages) -> pages.without(pageKey));
+    }
+
+    @Override
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    private static WishlistPageKey pageKey(Object key) {
+        if (key instanceof WishlistPageKey pageKey) {
+            return pageKey;
+        }
+        throw new IllegalArgumentException("Unsupported wishlist cache key: " + key);
+    }
+
+    /**
+     * Immutable set of cached pages for one user, in insertion order.
+     */
+    public static final class UserPages {
+
+        static final UserPages EMPTY = new UserPages(Long.MIN_VALUE, Collections.emptyMap());
+
+        private final long version;
+        private final Map<WishlistPageKey, Object> pages;
+        private final int weight;
+
+        private UserPages(long version, Map<WishlistPageKey, Object> pages) {
+            this.version = version;
+            this.pages = pages;
+            this.weight = pages.values().stream().mapToInt(UserPages::weigh).sum();
+        }
+
+        Object get(WishlistPageKey key) {
+            return key.version() == version ? pages.get(key) : null;
+        }
+
+        long version() {
+            return version;
+        }
+
+        int weight() {
+            return weight;
+        }
+
+        public int size() {
+            return pages.size();
+        }
+
+        UserPages with(WishlistPageKey key, Object value, int maxPages) {
+            if (key.version() < version) {
+                return this;
+            }
+            Map<WishlistPageKey, Object> copy = key.version() == version ? new LinkedHashMap<>(pages) : new LinkedHashMap<>();
+            copy.remove(key);
+            copy.put(key, value);
+            Iterator<WishlistPageKey> oldest = copy.keySet().iterator();
+            while (copy.size() > maxPages) {
+                oldest.next();
+                oldest.remove();
+            }
+            return new UserPages(key.version(), Collections.unmodifiableMap(copy));
+        }
+
+        UserPages without(WishlistPageKey key) {
+            if (!pages.containsKey(key)) {
+                return this;
+            }
+            Map<WishlistPageKey, Object> copy = new LinkedHashMap<>(pages);
+            copy.remove(key);
+            return copy.isEmpty() ? null : new UserPages(version, Collections.unmodifiableMap(copy));
+        }
+
+        UserPages reload(Function<WishlistPageKey, Object> pageLoader) {
+            Map<WishlistPageKey, Object> copy = new LinkedHashMap<>();
+            pages.keySet().forEach(key -> {
+                Object value = pageLoader.apply(key);
+                if (value != null) {
+                    copy.put(key, value);
+                }
+            });
+            return copy.isEmpty() ? null : new UserPages(version, Collections.unmodifiableMap(copy));
+        }
+
+        private static int weigh(Object value) {
+            if (value instanceof Slice<?> slice) {
+                return 1 + slice.getNumberOfElements();
+            }
+            if (value instanceof Collection<?> collection) {
+                return 1 + collection.size();
+            }
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.ecommerce.WishList.cache;
+
+/**
+ * Cache key for one page of a user's wishlist. The user id is kept separate
+ * from the page coordinates so that all pages of a user can be evicted at once.
+ * The version is the user's wishlist version when the page was requested, read
+ * before the page is loaded, so a cached page is never older than its version.
+ */
+public record WishlistPageKey(Integer userId, int page, int size, long version) {
+
+    public static WishlistPageKey of(Integer userId, int page, int size, long version) {
+        return new WishlistPageKey(userId, page, size, version);
+    }
+}
@@ -0,0 +1,64 @@
+package com.ecommerce.WishList.cache;
+
+import com.ecommerce.WishList.config.WishlistCacheProperties;
+import com.ecommerce.WishList.event.WishlistChangedEvent;
+import com.ecommerce.WishList.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+
+/**
+ * Each user's {@code users.wishlist_version}, so a conditional GET of a wishlist page
+ * can be answered without a query.
+ * <p>
+ * Changes made through this instance drop the entry after commit. An invalidation
+ * waits for a load of the same user that is still running, so a version read before
+ * the commit cannot survive it. Changes made through other instances are picked up
+ * when the entry expires, a few seconds after it was loaded. Users that do not exist
+ * are not cached.
+ */
+@Component
+public class WishlistVersionCache {
+
+    private final UserRepository userRepository;
+    private final Cache<Integer, Long> cache;
+
+    public WishlistVersionCache(UserRepository userRepository, WishlistCacheProperties properties) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getVersionMaximumSize())
+                .expireAfterWrite(properties.getVersionExpireAfterWrite())
+                .recordStats()
+                .build();
+    }
+
+    public Cache<Integer, Long> getNativeCache() {
+        return cache;
+    }
+
+    public Optional<Long> get(Integer userId) {
+        return Optional.ofNullable(cache.get(userId, id -> userRepository.findWishlistVersion(id).orElse(null)));
+    }
+
+    // Unknown users are version -1
+    public long version(Integer userId) {
+        return get(userId).orElse(-1L);
+    }
+
+    public void invalidate(Integer userId) {
+        cache.invalidate(userId);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    // Runs after commit, or straight away when published outside a transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWishlistChanged(WishlistChangedEvent event) {
+        cache.invalidate(event.userId());
+    }
+}
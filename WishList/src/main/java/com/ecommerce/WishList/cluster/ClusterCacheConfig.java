@@ -0,0 +1,43 @@
+package com.ecommerce.WishList.cluster;
+
+import com.ecommerce.WishList.cache.WishlistMembershipIndex;
+import com.ecommerce.WishList.cache.WishlistVersionCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Cache coherence across instances, see {@link ClusterInvalidationRelay}. The transport is
+ * chosen with {@code wishlist.cluster.transport}.
+ */
+@Configuration
+@EnableConfigurationProperties(ClusterCacheProperties.class)
+@ConditionalOnProperty(prefix = "wishlist.cluster", name = "enabled", havingValue = "true")
+public class ClusterCacheConfig {
+
+    @Bean
+    public InvalidationTransport invalidationTransport(ClusterCacheProperties properties,
+                                                       DataSourceProperties dataSourceProperties,
+                                                       JdbcTemplate jdbcTemplate) {
+        return switch (properties.getTransport()) {
+            case POSTGRES -> new PostgresInvalidationTransport(properties, dataSourceProperties, jdbcTemplate);
+            case LOCAL -> new LocalInvalidationTransport(properties.getChannel());
+        };
+    }
+
+    @Bean
+    public ClusterInvalidationRelay clusterInvalidationRelay(InvalidationTransport transport,
+                                                             ClusterCacheProperties properties,
+                                                             CacheManager cacheManager,
+                                                             WishlistVersionCache versionCache,
+                                                             WishlistMembershipIndex membershipIndex,
+                                                             MeterRegistry registry) {
+        return new ClusterInvalidationRelay(transport, properties, cacheManager, versionCache, membershipIndex,
+                registry);
+    }
+}
@@ -0,0 +1,104 @@
+package com.ecommerce.WishList.cluster;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@ConfigurationProperties(prefix = "wishlist.cluster")
+public class ClusterCacheProperties {
+
+    public enum Transport {
+        // LISTEN/NOTIFY on the primary database
+        POSTGRES,
+        // Nodes in the same JVM only, for tests and local runs
+        LOCAL
+    }
+
+    // Broadcast wishlist changes to the other instances, which drop their cached copies
+    private boolean enabled = false;
+
+    private Transport transport = Transport.POSTGRES;
+
+    // Notification channel; a plain lower case identifier
+    private String channel = "wishlist_invalidation";
+
+    // Tells this instance's own messages apart; unique per process unless set
+    private String nodeId = UUID.randomUUID().toString();
+
+    // How often the changes queued since the last run are broadcast, as one batch
+    private Duration publishInterval = Duration.ofMillis(20);
+
+    // Users queued for broadcast; beyond this one all users message replaces them
+    private int maxPending = 10_000;
+
+    // How long the listener waits before reconnecting after losing its connection
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+
+    // How long one wait for notifications blocks
+    private Duration pollTimeout = Duration.ofMillis(500);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Transport getTransport() {
+        return transport;
+    }
+
+    public void setTransport(Transport transport) {
+        this.transport = transport;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public void setChannel(String channel) {
+        this.channel = channel;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public Duration getPublishInterval() {
+        return publishInterval;
+    }
+
+    public void setPublishInterval(Duration publishInterval) {
+        this.publishInterval = publishInterval;
+    }
+
+    public int getMaxPending() {
+        return maxPending;
+    }
+
+    public void setMaxPending(int maxPending) {
+        this.maxPending = maxPending;
+    }
+
+    public Duration getReconnectDelay() {
+        return reconnectDelay;
+    }
+
+    public void setReconnectDelay(Duration reconnectDelay) {
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    public Duration getPollTimeout() {
+        return pollTimeout;
+    }
+
+    public void setPollTimeout(Duration pollTimeout) {
+        this.pollTimeout = pollTimeout;
+    }
+}
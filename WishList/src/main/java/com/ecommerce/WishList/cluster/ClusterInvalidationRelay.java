@@ -0,0 +1,169 @@
+package com.ecommerce.WishList.cluster;
+
+import com.ecommerce.WishList.cache.WishlistMembershipIndex;
+import com.ecommerce.WishList.cache.WishlistVersionCache;
+import com.ecommerce.WishList.config.CacheConfig;
+import com.ecommerce.WishList.event.WishlistChangedEvent;
+import com.ecommerce.WishList.logging.RateLimitedLogger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the per-instance wishlist caches coherent across instances. Every committed
+ * wishlist change is announced on the {@link InvalidationTransport}; on the other
+ * instances the user's cached pages, wishlist version and membership set are dropped.
+ * This is not a shared cache tier: each instance still loads what it misses from the
+ * database, the broadcast only stops it from serving what another instance changed.
+ * <p>
+ * Changes are queued by user and broadcast from a background thread every
+ * {@code wishlist.cluster.publish-interval}, so a request never waits on the transport
+ * or holds a second connection for it, and repeated changes of a user become one message.
+ * <p>
+ * Messages are best effort. A lost one is covered by the versioned page cache: pages
+ * are only served for the wishlist version this instance knows of, and that expires
+ * after {@code wishlist.cache.version-expire-after-write}.
+ */
+public class ClusterInvalidationRelay implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterInvalidationRelay.class);
+
+    // Fails once per batch while the transport is down
+    private static final RateLimitedLogger publishLogger = new RateLimitedLogger(logger, Duration.ofSeconds(10));
+
+    private final InvalidationTransport transport;
+    private final String nodeId;
+    private final Duration publishInterval;
+    private final int maxPending;
+    private final Cache wishlistCache;
+    private final WishlistVersionCache versionCache;
+    private final WishlistMembershipIndex membershipIndex;
+    private final Counter sent;
+    private final Counter received;
+    private final Set<Integer> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean overflowed = new AtomicBoolean();
+    private ScheduledExecutorService publisher;
+    private volatile boolean running;
+
+    public ClusterInvalidationRelay(InvalidationTransport transport, ClusterCacheProperties properties,
+                                    CacheManager cacheManager, WishlistVersionCache versionCache,
+                                    WishlistMembershipIndex membershipIndex, MeterRegistry registry) {
+        this.transport = transport;
+        this.nodeId = properties.getNodeId();
+        this.publishInterval = properties.getPublishInterval();
+        this.maxPending = properties.getMaxPending();
+        this.wishlistCache = cacheManager.getCache(CacheConfig.WISHLIST_CACHE);
+        this.versionCache = versionCache;
+        this.membershipIndex = membershipIndex;
+        this.sent = registry.counter("wishlist.cache.invalidations", "direction", "sent");
+        this.received = registry.counter("wishlist.cache.invalidations", "direction", "received");
+        Gauge.builder("wishlist.cache.invalidations.pending", pending, Set::size).register(registry);
+    }
+
+    // After commit, so other instances reload committed rows. Only queues the user
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWishlistChanged(WishlistChangedEvent event) {
+        if (pending.size() >= maxPending) {
+            overflowed.set(true);
+        } else {
+            pending.add(event.userId());
+        }
+    }
+
+    //  Broadcasts the users queued since the last run as one batch. After an overflow one
+    //  all users message is sent instead, which drops this instance's caches too
+    void publishPending() {
+        List<WishlistInvalidation> batch = new ArrayList<>();
+        if (overflowed.getAndSet(false)) {
+            pending.clear();
+            batch.add(WishlistInvalidation.allUsers(nodeId));
+        } else {
+            for (Iterator<Integer> users = pending.iterator(); users.hasNext(); ) {
+                batch.add(WishlistInvalidation.user(nodeId, users.next()));
+                users.remove();
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transport.publish(batch);
+            sent.increment(batch.size());
+        } catch (RuntimeException ex) {
+            // The changes are already committed; the version cache expiry covers the lost messages
+            publishLogger.warn("publish", "Could not broadcast {} wishlist invalidations: {}", batch.size(),
+                    ex.getMessage());
+        }
+    }
+
+    void onInvalidation(WishlistInvalidation invalidation) {
+        // This instance has already dropped its own copies
+        if (nodeId.equals(invalidation.origin()) && !invalidation.isAllUsers()) {
+            return;
+        }
+        received.increment();
+        if (invalidation.isAllUsers()) {
+            wishlistCache.clear();
+            versionCache.invalidateAll();
+            membershipIndex.invalidateAll();
+            return;
+        }
+        Integer userId = invalidation.userId();
+        versionCache.invalidate(userId);
+        wishlistCache.evict(userId);
+        membershipIndex.invalidate(userId);
+    }
+
+    @Override
+    public void start() {
+        transport.start(this::onInvalidation);
+        publisher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "wishlist-invalidation-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = publishInterval.toMillis();
+        publisher.scheduleWithFixedDelay(this::publishPending, interval, interval, TimeUnit.MILLISECONDS);
+        running = true;
+        logger.info("Broadcasting wishlist cache invalidations as node {}", nodeId);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (publisher != null) {
+            publisher.shutdown();
+            try {
+                publisher.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            publisher = null;
+            // Changes committed since the last run
+            publishPending();
+        }
+        transport.close();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
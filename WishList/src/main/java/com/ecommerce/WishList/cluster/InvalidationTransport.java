@@ -0,0 +1,21 @@
+package com.ecommerce.WishList.cluster;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Carries {@link WishlistInvalidation}s between instances. Delivery is best effort;
+ * a transport that may have dropped messages, e.g. after a reconnect, passes an
+ * {@link WishlistInvalidation#allUsers all users} message to the listener instead.
+ */
+public interface InvalidationTransport extends AutoCloseable {
+
+    // Called once, before any publish; messages sent by this node may come back too
+    void start(Consumer<WishlistInvalidation> listener);
+
+    // Sends a batch of messages; called from a single background thread, never inside a transaction
+    void publish(List<WishlistInvalidation> invalidations);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,44 @@
+package com.ecommerce.WishList.cluster;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers messages to every node started in the same JVM on the same channel,
+ * on the publishing thread. Stands in for a real transport in tests and local runs.
+ */
+public class LocalInvalidationTransport implements InvalidationTransport {
+
+    private static final Map<String, List<Consumer<WishlistInvalidation>>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final String channel;
+    private Consumer<WishlistInvalidation> listener;
+
+    public LocalInvalidationTransport(String channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public void start(Consumer<WishlistInvalidation> listener) {
+        this.listener = listener;
+        CHANNELS.computeIfAbsent(channel, name -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    @Override
+    public void publish(List<WishlistInvalidation> invalidations) {
+        for (WishlistInvalidation invalidation : invalidations) {
+            CHANNELS.getOrDefault(channel, List.of()).forEach(subscriber -> subscriber.accept(invalidation));
+        }
+    }
+
+    @Override
+    public void close() {
+        if (listener != null) {
+            CHANNELS.getOrDefault(channel, List.of()).remove(listener);
+            listener = null;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.ecommerce.WishList.cluster;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Postgres LISTEN/NOTIFY. A batch of messages is sent with one {@code pg_notify} statement
+ * on a pooled connection in auto-commit mode. One connection per node, opened outside
+ * the pool, waits for notifications on a daemon thread.
+ * <p>
+ * Notifications sent while that connection is down are lost, so after reconnecting
+ * the listener is given an all users message.
+ */
+public class PostgresInvalidationTransport implements InvalidationTransport {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresInvalidationTransport.class);
+
+    // LISTEN takes an identifier, not a bind parameter
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private static final String PUBLISH = "SELECT pg_notify(?, payload) FROM unnest(?) AS payload";
+
+    private final ClusterCacheProperties properties;
+    private final DataSourceProperties dataSourceProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public PostgresInvalidationTransport(ClusterCacheProperties properties, DataSourceProperties dataSourceProperties,
+                                         JdbcTemplate jdbcTemplate) {
+        if (!CHANNEL_NAME.matcher(properties.getChannel()).matches()) {
+            throw new IllegalArgumentException("Invalid notification channel: " + properties.getChannel());
+        }
+        this.properties = properties;
+        this.dataSourceProperties = dataSourceProperties;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void start(Consumer<WishlistInvalidation> listener) {
+        running = true;
+        listenerThread = new Thread(() -> listen(listener), "wishlist-invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @Override
+    public void publish(List<WishlistInvalidation> invalidations) {
+        Object[] payloads = invalidations.stream().map(WishlistInvalidation::encode).toArray();
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(PUBLISH)) {
+                statement.setString(1, properties.getChannel());
+                statement.setArray(2, connection.createArrayOf("text", payloads));
+                statement.executeQuery().close();
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        if (listenerThread != null) {
+            try {
+                listenerThread.join(properties.getPollTimeout().toMillis() * 4);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            listenerThread = null;
+        }
+    }
+
+    private void listen(Consumer<WishlistInvalidation> listener) {
+        boolean reconnect = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + properties.getChannel());
+                }
+                if (reconnect) {
+                    logger.info("Listening for wishlist invalidations again, dropping all cached wishlists");
+                    listener.accept(WishlistInvalidation.allUsers(properties.getNodeId()));
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                int timeout = (int) properties.getPollTimeout().toMillis();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(timeout);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            deliver(listener, notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException ex) {
+                logger.warn("Lost the wishlist invalidation listener connection: {}", ex.getMessage());
+                reconnect = true;
+                pause();
+            }
+        }
+    }
+
+    private void deliver(Consumer<WishlistInvalidation> listener, String payload) {
+        try {
+            listener.accept(WishlistInvalidation.decode(payload));
+        } catch (RuntimeException ex) {
+            logger.warn("Could not apply wishlist invalidation '{}'", payload, ex);
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(properties.getReconnectDelay().toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
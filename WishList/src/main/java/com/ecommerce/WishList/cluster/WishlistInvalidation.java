@@ -0,0 +1,38 @@
+package com.ecommerce.WishList.cluster;
+
+/**
+ * A wishlist change announced to the other instances: the node it came from and the
+ * user whose cached wishlist is stale. A null user id means every user, sent when
+ * messages may have been missed.
+ */
+public record WishlistInvalidation(String origin, Integer userId) {
+
+    private static final String ALL_USERS = "*";
+
+    public static WishlistInvalidation user(String origin, Integer userId) {
+        return new WishlistInvalidation(origin, userId);
+    }
+
+    public static WishlistInvalidation allUsers(String origin) {
+        return new WishlistInvalidation(origin, null);
+    }
+
+    public boolean isAllUsers() {
+        return userId == null;
+    }
+
+    // "<userId>|<origin>", small enough for any transport
+    public String encode() {
+        return (userId == null ? ALL_USERS : userId.toString()) + "|" + origin;
+    }
+
+    public static WishlistInvalidation decode(String payload) {
+        int separator = payload.indexOf('|');
+        if (separator < 1) {
+            throw new IllegalArgumentException("Malformed wishlist invalidation: " + payload);
+        }
+        String user = payload.substring(0, separator);
+        String origin = payload.substring(separator + 1);
+        return new WishlistInvalidation(origin, user.equals(ALL_USERS) ? null : Integer.valueOf(user));
+    }
+}
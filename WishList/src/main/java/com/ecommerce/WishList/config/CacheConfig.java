@@ -0,0 +1,46 @@
+package com.ecommerce.WishList.config;
+
+import com.ecommerce.WishList.cache.WishlistPageCache;
+import com.ecommerce.WishList.service.WishlistService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(WishlistCacheProperties.class)
+public class CacheConfig {
+
+    public static final String WISHLIST_CACHE = "wishlistCache";
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheConfig.class);
+
+    @Bean
+    public CacheManager cacheManager(WishlistCacheProperties properties,
+                                     ObjectProvider<WishlistService> wishlistService) {
+        logger.info("Initializing CacheManager...");
+
+        // Refreshes go straight to the service's uncached loader, so a refreshed
+        // page is never served from the entry that is being replaced
+        WishlistPageCache wishlistCache = new WishlistPageCache(WISHLIST_CACHE,
+                properties.getMaximumWeight(),
+                properties.getMaxPagesPerUser(),
+                properties.getExpireAfterWrite(),
+                properties.getRefreshAfterWrite(),
+                key -> wishlistService.getObject().loadWishlistPage(key.userId(), key.page(), key.size()));
+
+        // Evictions made inside a transaction are applied after it commits
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(new TransactionAwareCacheDecorator(wishlistCache)));
+        return cacheManager;
+    }
+}
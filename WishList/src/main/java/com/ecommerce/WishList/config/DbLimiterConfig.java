@@ -0,0 +1,89 @@
+package com.ecommerce.WishList.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Bounds the number of requests that can hold a database connection at once.
+ * Meant for virtual thread mode, where request concurrency is no longer capped by
+ * the Tomcat thread pool; enabled by default together with {@code spring.threads.virtual.enabled}.
+ */
+@Configuration
+@EnableConfigurationProperties(DbLimiterProperties.class)
+@ConditionalOnProperty(prefix = "wishlist.db-limiter", name = "enabled", havingValue = "true")
+public class DbLimiterConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(DbLimiterConfig.class);
+
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    // Static so the post processor does not force early initialization of this configuration.
+    // Ordered ahead of the replica routing post processor, which wraps the limited pool
+    @Bean
+    public static BeanPostProcessor dbLimiterDataSourcePostProcessor(Environment environment) {
+        return new LimitingPostProcessor(environment);
+    }
+
+    // Hikari only fills in its default pool size when the pool starts
+    private static int poolSize(HikariDataSource hikari) {
+        return hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : HIKARI_DEFAULT_POOL_SIZE;
+    }
+
+    @Bean
+    public MeterBinder dbLimiterMetrics(DataSource dataSource) {
+        return registry -> {
+            ConcurrencyLimitingDataSource limiter = DataSourceUnwrapper.unwrap(dataSource, ConcurrencyLimitingDataSource.class);
+            if (limiter == null) {
+                return;
+            }
+            Gauge.builder("wishlist.db.limiter.permits", limiter, ConcurrencyLimitingDataSource::getPermits)
+                    .register(registry);
+            Gauge.builder("wishlist.db.limiter.available", limiter, ConcurrencyLimitingDataSource::getAvailablePermits)
+                    .register(registry);
+            Gauge.builder("wishlist.db.limiter.waiting", limiter, ConcurrencyLimitingDataSource::getWaitingThreads)
+                    .register(registry);
+        };
+    }
+
+    private static final class LimitingPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final Environment environment;
+
+        private LimitingPostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof HikariDataSource hikari)) {
+                return bean;
+            }
+            DbLimiterProperties properties = Binder.get(environment)
+                    .bind("wishlist.db-limiter", DbLimiterProperties.class)
+                    .orElseGet(DbLimiterProperties::new);
+            // Sized to the pool by default, so waiting happens here and not inside Hikari
+            int permits = properties.getPermits() > 0 ? properties.getPermits() : poolSize(hikari);
+            logger.info("Limiting database access to {} concurrent connections", permits);
+            return new ConcurrencyLimitingDataSource(hikari, permits, properties.getAcquireTimeout());
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE - 10;
+        }
+    }
+}
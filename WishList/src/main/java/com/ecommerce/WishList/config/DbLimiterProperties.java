@@ -0,0 +1,42 @@
+package com.ecommerce.WishList.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "wishlist.db-limiter")
+public class DbLimiterProperties {
+
+    // Wrap the DataSource so callers queue on a fair semaphore instead of the pool
+    private boolean enabled = false;
+
+    // Connections handed out at once; 0 means the Hikari maximum pool size
+    private int permits = 0;
+
+    // How long a caller waits for a permit before the connection request fails
+    private Duration acquireTimeout = Duration.ofSeconds(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getPermits() {
+        return permits;
+    }
+
+    public void setPermits(int permits) {
+        this.permits = permits;
+    }
+
+    public Duration getAcquireTimeout() {
+        return acquireTimeout;
+    }
+
+    public void setAcquireTimeout(Duration acquireTimeout) {
+        this.acquireTimeout = acquireTimeout;
+    }
+}
@@ -0,0 +1,40 @@
+package com.ecommerce.WishList.config;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Marks the springdoc beans lazy, so the OpenAPI and Swagger UI support is built on
+ * the first request to it rather than while an instance is starting. Beans that Spring
+ * MVC itself needs at startup, such as springdoc's WebMvcConfigurers, are still created
+ * then. Enabled by {@code wishlist.startup.lazy-springdoc}, e.g. in the faststart profile.
+ */
+@Component
+@ConditionalOnProperty(prefix = "wishlist.startup", name = "lazy-springdoc", havingValue = "true")
+public class LazySpringdocPostProcessor implements BeanFactoryPostProcessor {
+
+    private static final String SPRINGDOC_PACKAGE = "org.springdoc.";
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            if (isSpringdoc(definition)) {
+                definition.setLazyInit(true);
+            }
+        }
+    }
+
+    // @Bean methods have no bean class, only the configuration that declares them
+    private static boolean isSpringdoc(BeanDefinition definition) {
+        String className = definition.getBeanClassName();
+        if (className == null) {
+            // Auto-configuration beans are named after their class
+            className = definition.getFactoryBeanName();
+        }
+        return className != null && className.startsWith(SPRINGDOC_PACKAGE);
+    }
+}
@@ -0,0 +1,57 @@
+package com.ecommerce.WishList.config;
+
+import com.ecommerce.WishList.cache.ProductNearCache;
+import com.ecommerce.WishList.cache.WishlistMembershipIndex;
+import com.ecommerce.WishList.cache.WishlistPageCache;
+import com.ecommerce.WishList.cache.WishlistVersionCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // Operation timer recorded around the controller, so it covers the cache and the
+    // database but not response serialization (that is left to http.server.requests)
+    public static final String WISHLIST_OPERATION_TIMER = "wishlist.operation";
+
+    // Enables @Timed on Spring beans
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    // Cache metrics (gets by hit/miss, evictions, refresh loads) for the wishlist page cache;
+    // the transaction aware decorator is unwrapped before the provider is asked
+    @Bean
+    public CacheMeterBinderProvider<WishlistPageCache> wishlistCacheMeterBinderProvider() {
+        return (cache, tags) -> new CaffeineCacheMetrics<>(cache.getNativeCache(), cache.getName(), tags);
+    }
+
+    // Caches that are not Spring caches are bound directly. They carry the same tag keys as
+    // the Spring cache meters, otherwise Prometheus rejects them as a conflicting series
+    @Bean
+    public MeterBinder wishlistMembershipMetrics(WishlistMembershipIndex membershipIndex) {
+        return directCacheMetrics(membershipIndex.getNativeCache(), "wishlistMembership");
+    }
+
+    @Bean
+    public MeterBinder productCacheMetrics(ProductNearCache productCache) {
+        return directCacheMetrics(productCache.getNativeCache(), "productCache");
+    }
+
+    @Bean
+    public MeterBinder wishlistVersionMetrics(WishlistVersionCache versionCache) {
+        return directCacheMetrics(versionCache.getNativeCache(), "wishlistVersion");
+    }
+
+    private static MeterBinder directCacheMetrics(Cache<?, ?> cache, String name) {
+        return new CaffeineCacheMetrics<>(cache, name, Tags.of("name", name, "cache.manager", "none"));
+    }
+}
@@ -0,0 +1,88 @@
+package com.ecommerce.WishList.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fails startup when an index the wishlist queries rely on is missing or left invalid
+ * by a failed concurrent build, instead of finding out through sequential scans under load.
+ * <p>
+ * Indexes are matched on their columns rather than their names. Runs after all singletons,
+ * so after the Flyway migrations, and only against Postgres: tests use the H2 schema
+ * Hibernate generates.
+ */
+@Component
+@ConditionalOnProperty(prefix = "wishlist.schema", name = "validate-indexes", havingValue = "true", matchIfMissing = true)
+public class SchemaIndexValidator implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaIndexValidator.class);
+
+    // Index columns as pg_get_indexdef prints them, and the queries that need them
+    static final Map<String, String> REQUIRED_INDEXES = new LinkedHashMap<>();
+
+    static {
+        REQUIRED_INDEXES.put("(user_id, product_id)", "insert on conflict, exists, contains and remove");
+        REQUIRED_INDEXES.put("(user_id, created_date, id) INCLUDE (product_id)", "wishlist pages and keyset scans");
+        REQUIRED_INDEXES.put("(created_date, product_id)", "trending rebuild");
+        REQUIRED_INDEXES.put("(product_id, user_id)", "product deletes and recounts");
+    }
+
+    private static final String INDEX_QUERY = """
+            SELECT pg_get_indexdef(i.indexrelid) AS definition, i.indisvalid AS valid
+            FROM pg_index i
+            WHERE i.indrelid = to_regclass('wishlist')
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SchemaIndexValidator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            logger.info("Skipping wishlist index check on {}", database);
+            return;
+        }
+        Map<String, Boolean> indexes = new LinkedHashMap<>();
+        jdbcTemplate.query(INDEX_QUERY, (RowCallbackHandler) row -> indexes.put(row.getString("definition"), row.getBoolean("valid")));
+        List<String> problems = problems(indexes);
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException("Wishlist indexes missing or invalid, run the db/migration scripts: "
+                    + String.join("; ", problems));
+        }
+        logger.info("Wishlist indexes present: {}", REQUIRED_INDEXES.keySet());
+    }
+
+    // One entry per required index that is absent or invalid
+    static List<String> problems(Map<String, Boolean> indexes) {
+        List<String> problems = new ArrayList<>();
+        REQUIRED_INDEXES.forEach((columns, usage) -> {
+            Boolean valid = indexes.entrySet().stream()
+                    .filter(index -> index.getKey().endsWith("USING btree " + columns))
+                    .map(Map.Entry::getValue)
+                    .reduce(Boolean::logicalOr)
+                    .orElse(null);
+            if (valid == null) {
+                problems.add("no index on " + columns + " for " + usage);
+            } else if (!valid) {
+                problems.add("index on " + columns + " for " + usage + " is invalid, drop and recreate it");
+            }
+        });
+        return problems;
+    }
+}
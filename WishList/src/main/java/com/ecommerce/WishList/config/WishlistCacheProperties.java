@@ -0,0 +1,126 @@
+package com.ecommerce.WishList.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "wishlist.cache")
+public class WishlistCacheProperties {
+
+    // Total weight of the cache: one unit per cached page plus one per wishlist row
+    private long maximumWeight = 100_000;
+
+    // Pages kept per user; the oldest page is dropped first
+    private int maxPagesPerUser = 10;
+
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+    private Duration refreshAfterWrite = Duration.ofMinutes(1);
+
+    // Product ids held by the membership index across all users
+    private long membershipMaximumWeight = 1_000_000;
+
+    private Duration membershipExpireAfterAccess = Duration.ofMinutes(30);
+
+    // Products held by the product near-cache
+    private long productMaximumSize = 10_000;
+
+    // Upper bound on how stale a cached stock level can be
+    private Duration productRefreshAfterWrite = Duration.ofSeconds(5);
+
+    private Duration productExpireAfterWrite = Duration.ofMinutes(10);
+
+    // Users whose wishlist version is held for conditional GETs
+    private long versionMaximumSize = 100_000;
+
+    // Upper bound on how long another instance's change can go unseen by a conditional GET
+    private Duration versionExpireAfterWrite = Duration.ofSeconds(5);
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    public void setMaximumWeight(long maximumWeight) {
+        this.maximumWeight = maximumWeight;
+    }
+
+    public int getMaxPagesPerUser() {
+        return maxPagesPerUser;
+    }
+
+    public void setMaxPagesPerUser(int maxPagesPerUser) {
+        this.maxPagesPerUser = maxPagesPerUser;
+    }
+
+    public Duration getExpireAfterWrite() {
+        return expireAfterWrite;
+    }
+
+    public void setExpireAfterWrite(Duration expireAfterWrite) {
+        this.expireAfterWrite = expireAfterWrite;
+    }
+
+    public Duration getRefreshAfterWrite() {
+        return refreshAfterWrite;
+    }
+
+    public void setRefreshAfterWrite(Duration refreshAfterWrite) {
+        this.refreshAfterWrite = refreshAfterWrite;
+    }
+
+    public long getMembershipMaximumWeight() {
+        return membershipMaximumWeight;
+    }
+
+    public void setMembershipMaximumWeight(long membershipMaximumWeight) {
+        this.membershipMaximumWeight = membershipMaximumWeight;
+    }
+
+    public Duration getMembershipExpireAfterAccess() {
+        return membershipExpireAfterAccess;
+    }
+
+    public void setMembershipExpireAfterAccess(Duration membershipExpireAfterAccess) {
+        this.membershipExpireAfterAccess = membershipExpireAfterAccess;
+    }
+
+    public long getProductMaximumSize() {
+        return productMaximumSize;
+    }
+
+    public void setProductMaximumSize(long productMaximumSize) {
+        this.productMaximumSize = productMaximumSize;
+    }
+
+    public Duration getProductRefreshAfterWrite() {
+        return productRefreshAfterWrite;
+    }
+
+    public void setProductRefreshAfterWrite(Duration productRefreshAfterWrite) {
+        this.productRefreshAfterWrite = productRefreshAfterWrite;
+    }
+
+    public Duration getProductExpireAfterWrite() {
+        return productExpireAfterWrite;
+    }
+
+    public void setProductExpireAfterWrite(Duration productExpireAfterWrite) {
+        this.productExpireAfterWrite = productExpireAfterWrite;
+    }
+
+    public long getVersionMaximumSize() {
+        return versionMaximumSize;
+    }
+
+    public void setVersionMaximumSize(long versionMaximumSize) {
+        this.versionMaximumSize = versionMaximumSize;
+    }
+
+    public Duration getVersionExpireAfterWrite() {
+        return versionExpireAfterWrite;
+    }
+
+    public void setVersionExpireAfterWrite(Duration versionExpireAfterWrite) {
+        this.versionExpireAfterWrite = versionExpireAfterWrite;
+    }
+}
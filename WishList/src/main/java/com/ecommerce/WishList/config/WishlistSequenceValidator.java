@@ -0,0 +1,67 @@
+package com.ecommerce.WishList.config;
+
+import com.ecommerce.WishList.entity.WishlistIdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Fails startup when the wishlist id sequence does not step by the block size the id
+ * generator and allocator assume. With a smaller INCREMENT BY two instances would be
+ * handed overlapping blocks and their inserts would collide on the primary key.
+ * <p>
+ * Runs after all singletons, so after the Flyway migrations, and only against Postgres:
+ * tests use the H2 schema Hibernate generates from the same constant.
+ */
+@Component
+@ConditionalOnProperty(prefix = "wishlist.schema", name = "validate-sequence", havingValue = "true", matchIfMissing = true)
+public class WishlistSequenceValidator implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(WishlistSequenceValidator.class);
+
+    private static final String INCREMENT_QUERY =
+            "SELECT increment_by FROM pg_sequences WHERE sequencename = ? AND schemaname = current_schema()";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public WishlistSequenceValidator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            logger.info("Skipping wishlist sequence check on {}", database);
+            return;
+        }
+        List<Long> increments = jdbcTemplate.queryForList(INCREMENT_QUERY, Long.class,
+                WishlistIdGenerator.SEQUENCE_NAME);
+        Optional<String> problem = problem(increments.stream().findFirst().orElse(null));
+        if (problem.isPresent()) {
+            throw new IllegalStateException(problem.get());
+        }
+        logger.info("Wishlist id sequence steps by {}", WishlistIdGenerator.ALLOCATION_SIZE);
+    }
+
+    // Why the sequence cannot be used with the configured block size, if it cannot
+    static Optional<String> problem(Long increment) {
+        if (increment == null) {
+            return Optional.of("Sequence " + WishlistIdGenerator.SEQUENCE_NAME + " is missing, run the db/migration scripts");
+        }
+        if (increment != WishlistIdGenerator.ALLOCATION_SIZE) {
+            return Optional.of("Sequence " + WishlistIdGenerator.SEQUENCE_NAME + " increments by " + increment
+                    + " but wishlist ids are allocated in blocks of " + WishlistIdGenerator.ALLOCATION_SIZE
+                    + "; change both with a new migration");
+        }
+        return Optional.empty();
+    }
+}
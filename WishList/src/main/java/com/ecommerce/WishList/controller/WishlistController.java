@@ -1,62 +1,198 @@
 package com.ecommerce.WishList.controller;
 
-import com.ecommerce.WishList.entity.WishList;
+import com.ecommerce.WishList.config.MetricsConfig;
+import com.ecommerce.WishList.dto.BulkItemResult;
+import com.ecommerce.WishList.dto.ProductWishlistCount;
+import com.ecommerce.WishList.dto.TrendingProduct;
+import com.ecommerce.WishList.dto.UserWishlistCount;
+import com.ecommerce.WishList.dto.WishlistAddResult;
+import com.ecommerce.WishList.dto.WishlistItemView;
+import com.ecommerce.WishList.dto.WishlistScrollPage;
 import com.ecommerce.WishList.service.WishlistService;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/wishlist")
 public class WishlistController {
 
-    private static final Logger logger = LoggerFactory.getLogger(WishlistController.class);
+    // Total number of items in the user's wishlist, sent with every page
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
 
     @Autowired
     private WishlistService wishlistService;
 
-    // Fetch Wishlist Items for a User
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Fetch Wishlist Items for a User. The ETag is the wishlist version, so a client sending
+    // it back in If-None-Match gets a 304 without the page being loaded or serialized
+    @Timed(value = MetricsConfig.WISHLIST_OPERATION_TIMER, extraTags = {"operation", "getWishlistItems"},
+            histogram = true, percentiles = {0.5, 0.99})
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<WishList>> getUserWishlist(
+    public ResponseEntity<List<WishlistItemView>> getUserWishlist(
             @PathVariable Integer userId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "5") int size) {
+            @RequestParam(defaultValue = "5") int size,
+            WebRequest request) {
+
+        // Read before the page, and like the page from the primary, so the ETag is never newer
+        // than the body it is sent with
+        String etag = wishlistService.getWishlistVersion(userId).map(WishlistController::etag).orElse(null);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
+
+        Page<WishlistItemView> wishlistPage = wishlistService.getWishlistItems(userId, page, size);
+
+        List<WishlistItemView> wishlist = wishlistPage.getContent();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(wishlistPage.getTotalElements()));
+        if (etag != null) {
+            response.eTag(etag);
+        }
+        return response.body(wishlist);
+    }
+
+    // Strong ETag: the version changes with every add or remove
+    static String etag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    // Number of Items in a User's Wishlist, read from a counter rather than counted
+    @Timed(value = MetricsConfig.WISHLIST_OPERATION_TIMER, extraTags = {"operation", "countWishlistItems"},
+            histogram = true, percentiles = {0.5, 0.99})
+    @GetMapping("/user/{userId}/count")
+    public ResponseEntity<UserWishlistCount> countUserWishlist(@PathVariable Integer userId) {
+
+        UserWishlistCount count = wishlistService.countWishlistItems(userId);
+        return ResponseEntity.ok(count);
+    }
+
+    // Number of Wishlists a Product is in
+    @Timed(value = MetricsConfig.WISHLIST_OPERATION_TIMER, extraTags = {"operation", "countProductWishlists"},
+            histogram = true, percentiles = {0.5, 0.99})
+    @GetMapping("/product/{productId}/count")
+    public ResponseEntity<ProductWishlistCount> countProductWishlists(@PathVariable Integer productId) {
+
+        ProductWishlistCount count = wishlistService.countProductWishlists(productId);
+        return ResponseEntity.ok(count);
+    }
+
+    // Scroll through a User's Wishlist with an opaque cursor, without offset or count queries
+    @Timed(value = MetricsConfig.WISHLIST_OPERATION_TIMER, extraTags = {"operation", "scrollWishlistItems"},
+            histogram = true, percentiles = {0.5, 0.99})
+    @GetMapping("/user/{userId}/scroll")
+    public ResponseEntity<WishlistScrollPage> scrollUserWishlist(
+            @PathVariable Integer userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        WishlistScrollPage scrollPage = wishlistService.scrollWishlistItems(userId, cursor, size);
+        return ResponseEntity.ok(scrollPage);
+    }
 
-        logger.info("Fetching wishlist for userId: {}, page: {}, size: {}", userId, page, size);
+    // Export a User's whole Wishlist as NDJSON, one item per line, streamed from a database cursor
+    @GetMapping(value = "/user/{userId}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUserWishlist(@PathVariable Integer userId) {
+
+        StreamingResponseBody body = outputStream -> {
+            boolean[] first = {true};
+            wishlistService.forEachWishlistItem(userId, item -> {
+                try {
+                    outputStream.write(objectMapper.writeValueAsBytes(item));
+                    outputStream.write('\n');
+                    // Send the first line straight away; after that the response buffer decides
+                    if (first[0]) {
+                        outputStream.flush();
+                        first[0] = false;
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    // Most wishlisted Products of a decayed window, e.g. ?window=day&limit=10
+    @Timed(value = MetricsConfig.WISHLIST_OPERATION_TIMER, extraTags = {"operation", "getTrendingProducts"},
+            histogram = true, percentiles = {0.5, 0.99})
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingProduct>> getTrendingProducts(
+            @RequestParam(required = false) String window,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        List<TrendingProduct> trending = wishlistService.getTrendingProducts(window, limit);
+        return ResponseEntity.ok(trending);
+    }
 
-        Page<WishList> wishlistPage = wishlistService.getWishlistItems(userId, page, size);
+    // Check which of the given Products are in a User's Wishlist, e.g. ?productIds=1,2,3
+    @Timed(value = MetricsConfig.WISHLIST_OPERATION_TIMER, extraTags = {"operation", "containsProducts"},
+            histogram = true, percentiles = {0.5, 0.99})
+    @GetMapping("/user/{userId}/contains")
+    public ResponseEntity<Map<Integer, Boolean>> containsProducts(@PathVariable Integer userId,
+                                                                  @RequestParam List<Integer> productIds) {
 
-        logger.info("Successfully fetched wishlist for userId: {}", userId);
-        List<WishList> wishlist = wishlistPage.getContent();
-        return ResponseEntity.ok(wishlist);
+        Map<Integer, Boolean> membership = wishlistService.containsProducts(userId, productIds);
+        return ResponseEntity.ok(membership);
     }
 
     // Add Product to Wishlist
+    @Timed(value = MetricsConfig.WISHLIST_OPERATION_TIMER, extraTags = {"operation", "addToWishlist"},
+            histogram = true, percentiles = {0.5, 0.99})
     @PostMapping("/add/{userId}/{productId}")
-    public ResponseEntity<WishList> addToWishlist(@PathVariable Integer userId, @PathVariable Integer productId) {
+    public ResponseEntity<WishlistItemView> addToWishlist(@PathVariable Integer userId, @PathVariable Integer productId) {
 
-        logger.info("Adding productId: {} to wishlist for userId: {}", productId, userId);
+        WishlistAddResult result = wishlistService.addToWishlist(userId, productId);
 
-        WishList wishlistItem = wishlistService.addToWishlist(userId, productId);
+        // Also 200 when the product was already there, so clients can safely retry
+        return ResponseEntity.ok(result.item());
+    }
+
+    // Add several Products to a User's Wishlist in one request
+    @Timed(value = MetricsConfig.WISHLIST_OPERATION_TIMER, extraTags = {"operation", "addAllToWishlist"},
+            histogram = true, percentiles = {0.5, 0.99})
+    @PostMapping("/add/{userId}")
+    public ResponseEntity<List<BulkItemResult>> addAllToWishlist(@PathVariable Integer userId,
+                                                                 @RequestBody List<Integer> productIds) {
 
-        logger.info("Successfully added productId: {} to wishlist for userId: {}", productId, userId);
-        return ResponseEntity.ok(wishlistItem);
+        List<BulkItemResult> results = wishlistService.addAllToWishlist(userId, productIds);
+        return ResponseEntity.ok(results);
     }
 
     // Remove Product from Wishlist
+    @Timed(value = MetricsConfig.WISHLIST_OPERATION_TIMER, extraTags = {"operation", "removeFromWishlist"},
+            histogram = true, percentiles = {0.5, 0.99})
     @DeleteMapping("/remove/{userId}/{productId}")
     public ResponseEntity<String> removeFromWishlist(@PathVariable Integer userId, @PathVariable Integer productId) {
 
-        logger.info("Removing productId: {} from wishlist for userId: {}", productId, userId);
-
         wishlistService.removeFromWishlist(userId, productId);
 
-        logger.info("Successfully removed productId: {} from wishlist for userId: {}", productId, userId);
         return ResponseEntity.ok("Product removed from wishlist successfully");
     }
+
+    // Remove several Products from a User's Wishlist in one request
+    @Timed(value = MetricsConfig.WISHLIST_OPERATION_TIMER, extraTags = {"operation", "removeAllFromWishlist"},
+            histogram = true, percentiles = {0.5, 0.99})
+    @DeleteMapping("/remove/{userId}")
+    public ResponseEntity<List<BulkItemResult>> removeAllFromWishlist(@PathVariable Integer userId,
+                                                                      @RequestBody List<Integer> productIds) {
+
+        List<BulkItemResult> results = wishlistService.removeAllFromWishlist(userId, productIds);
+        return ResponseEntity.ok(results);
+    }
 }
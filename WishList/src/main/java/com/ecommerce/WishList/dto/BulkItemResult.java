@@ -0,0 +1,7 @@
+package com.ecommerce.WishList.dto;
+
+/**
+ * Outcome of one product id in a bulk add or remove request.
+ */
+public record BulkItemResult(Integer productId, BulkItemStatus status) {
+}
@@ -0,0 +1,10 @@
+package com.ecommerce.WishList.dto;
+
+public enum BulkItemStatus {
+    ADDED,
+    ALREADY_IN_WISHLIST,
+    PRODUCT_NOT_FOUND,
+    OUT_OF_STOCK,
+    REMOVED,
+    NOT_IN_WISHLIST
+}
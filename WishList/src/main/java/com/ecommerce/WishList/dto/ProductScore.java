@@ -0,0 +1,8 @@
+package com.ecommerce.WishList.dto;
+
+/**
+ * Decayed wishlist score of a product: every add counts 1 when it happens and halves
+ * with each half-life of the window since.
+ */
+public record ProductScore(Integer productId, double score) {
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.WishList.dto;
+
+/**
+ * Immutable copy of the product fields the wishlist needs, held by the product near-cache.
+ */
+public record ProductSnapshot(Integer id, String name, double price, int stock) {
+
+    public boolean inStock() {
+        return stock > 0;
+    }
+}
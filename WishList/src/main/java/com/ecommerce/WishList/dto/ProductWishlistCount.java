@@ -0,0 +1,7 @@
+package com.ecommerce.WishList.dto;
+
+/**
+ * Number of wishlists a product is in.
+ */
+public record ProductWishlistCount(Integer productId, int wishlistCount) {
+}
@@ -0,0 +1,8 @@
+package com.ecommerce.WishList.dto;
+
+/**
+ * One entry of the trending leaderboard. The score is an estimate that may be too high
+ * by at most maxError.
+ */
+public record TrendingProduct(Integer productId, String name, double score, double maxError) {
+}
@@ -0,0 +1,7 @@
+package com.ecommerce.WishList.dto;
+
+/**
+ * Number of items in a user's wishlist.
+ */
+public record UserWishlistCount(Integer userId, int itemCount) {
+}
@@ -0,0 +1,16 @@
+package com.ecommerce.WishList.dto;
+
+/**
+ * Outcome of a single add: the item, and whether this call added it. Adding a product
+ * that is already in the wishlist is not an error; the existing item is returned.
+ */
+public record WishlistAddResult(WishlistItemView item, boolean added) {
+
+    public static WishlistAddResult added(WishlistItemView item) {
+        return new WishlistAddResult(item, true);
+    }
+
+    public static WishlistAddResult existing(WishlistItemView item) {
+        return new WishlistAddResult(item, false);
+    }
+}
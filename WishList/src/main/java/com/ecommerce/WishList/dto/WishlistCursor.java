@@ -0,0 +1,43 @@
+package com.ecommerce.WishList.dto;
+
+import com.ecommerce.WishList.Exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Position of the last returned row in a (created_date, id) ordered wishlist scan.
+ * Clients only see the opaque token produced by {@link #encode()}.
+ */
+public record WishlistCursor(Instant createdDate, Integer wishlistId) {
+
+    public static WishlistCursor after(WishlistItemView item) {
+        return new WishlistCursor(item.createdDate().toInstant(), item.wishlistId());
+    }
+
+    public Date createdDateValue() {
+        return Timestamp.from(createdDate);
+    }
+
+    public String encode() {
+        String raw = createdDate.getEpochSecond() + ":" + createdDate.getNano() + ":" + wishlistId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static WishlistCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 3) {
+                throw new InvalidCursorException("Invalid wishlist cursor: " + token);
+            }
+            Instant createdDate = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new WishlistCursor(createdDate, Integer.valueOf(parts[2]));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Invalid wishlist cursor: " + token);
+        }
+    }
+}
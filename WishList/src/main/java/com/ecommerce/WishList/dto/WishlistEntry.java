@@ -0,0 +1,13 @@
+package com.ecommerce.WishList.dto;
+
+import java.util.Date;
+
+/**
+ * A wishlist row without its product; product fields are filled in from the product near-cache.
+ */
+public record WishlistEntry(Integer wishlistId, Integer productId, Date createdDate) {
+
+    public WishlistItemView toItemView(ProductSnapshot product) {
+        return new WishlistItemView(wishlistId, productId, product.name(), product.price(), product.stock(), createdDate);
+    }
+}
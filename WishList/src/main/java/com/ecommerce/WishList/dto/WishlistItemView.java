@@ -0,0 +1,15 @@
+package com.ecommerce.WishList.dto;
+
+import java.util.Date;
+
+/**
+ * Read model for one wishlist row, selected straight from the query
+ * instead of serializing the WishList, User and Product entities.
+ */
+public record WishlistItemView(Integer wishlistId,
+                               Integer productId,
+                               String name,
+                               double price,
+                               int stock,
+                               Date createdDate) {
+}
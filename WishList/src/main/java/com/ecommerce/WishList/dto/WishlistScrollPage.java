@@ -0,0 +1,9 @@
+package com.ecommerce.WishList.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of a wishlist; nextCursor is null on the last page.
+ */
+public record WishlistScrollPage(List<WishlistItemView> items, String nextCursor) {
+}
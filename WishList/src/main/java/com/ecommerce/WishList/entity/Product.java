@@ -1,15 +1,15 @@
 package com.ecommerce.WishList.entity;
 
-import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.ecommerce.WishList.cache.ProductCacheInvalidator;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-
-import java.util.List;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Table(name = "products")
+@EntityListeners(ProductCacheInvalidator.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -30,9 +30,13 @@ public class Product {
     @Column(nullable = false)
     private int stock;
 
-    @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
-    @JsonIgnore
-    private List<WishList> wishlists;
+    // Number of wishlists holding this product, maintained by the wishlist write statements
+    @Column(name = "wishlist_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private int wishlistCount;
+
+    // No collection of the product's wishlist rows: loading or saving a product must never
+    // cascade over them, and the count above answers the only question asked about them
 
     public Integer getId() {
         return id;
@@ -74,11 +78,7 @@ public class Product {
         this.stock = stock;
     }
 
-    public List<WishList> getWishlists() {
-        return wishlists;
-    }
-
-    public void setWishlists(List<WishList> wishlists) {
-        this.wishlists = wishlists;
+    public int getWishlistCount() {
+        return wishlistCount;
     }
 }
@@ -1,6 +1,7 @@
 package com.ecommerce.WishList.entity;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.List;
 
@@ -21,6 +22,15 @@ public class User {
     @Column(unique = true, nullable = false)
     private String email;
 
+    // Maintained by the wishlist write statements, never through the entity
+    @Column(name = "wishlist_item_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private int wishlistItemCount;
+
+    @Column(name = "wishlist_version", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private long wishlistVersion;
+
     @OneToMany(mappedBy = "user", fetch = FetchType.LAZY)
     @JsonIgnore
     private List<WishList> wishLists;
@@ -60,6 +70,14 @@ public class User {
         this.email = email;
     }
 
+    public int getWishlistItemCount() {
+        return wishlistItemCount;
+    }
+
+    public long getWishlistVersion() {
+        return wishlistVersion;
+    }
+
     public List<WishList> getWishLists() {
         return wishLists;
     }
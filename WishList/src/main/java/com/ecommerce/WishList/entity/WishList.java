@@ -1,22 +1,57 @@
 package com.ecommerce.WishList.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.annotations.PartitionKey;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import java.util.Date;
 
+// The Postgres schema comes from db/migration; the mapping below mirrors it for the H2 schema in tests.
+// In Postgres the table can be hash partitioned on user_id (db/scripts/005_wishlist_hash_partitioning.sql);
+// every per-user query filters on user_id, so it is pruned to that user's partition
 @Entity
-@Table(name = "wishlist")
+@Table(name = "wishlist", uniqueConstraints = {
+        // A product is wishlisted at most once per user; also serves (user_id, product_id) lookups
+        @UniqueConstraint(name = "uk_wishlist_user_product", columnNames = {"user_id", "product_id"})
+}, indexes = {
+        // Serves pages and keyset scans: user_id equality, then (created_date, id) order;
+        // product_id is an INCLUDE column in Postgres, so pages are read from the index alone
+        @Index(name = "idx_wishlist_user_created_covering", columnList = "user_id, created_date, id, product_id"),
+        // Serves the trending rebuild: recent rows by created_date, product_id read from the index
+        @Index(name = "idx_wishlist_created_product", columnList = "created_date, product_id"),
+        // Serves the foreign key to products
+        @Index(name = "idx_wishlist_product_user", columnList = "product_id, user_id")
+})
 public class WishList {
+
+    // Constraint names as in db/migration/V1; a violation of the first means the user does not exist
+    public static final String USER_FOREIGN_KEY = "fktrd6335blsefl2gxpb8lr0gr7";
+    public static final String PRODUCT_FOREIGN_KEY = "fk6p7qhvy1bfkri13u29x6pu8au";
+
+    // Sequence ids keep Hibernate's JDBC insert batching enabled, unlike IDENTITY
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = WishlistIdGenerator.SEQUENCE_NAME)
+    @GenericGenerator(name = WishlistIdGenerator.SEQUENCE_NAME, type = WishlistIdGenerator.class, parameters = {
+            @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = WishlistIdGenerator.SEQUENCE_NAME),
+            @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "" + WishlistIdGenerator.ALLOCATION_SIZE),
+            @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled-lo")
+    })
     private Integer id;
 
-    @ManyToOne
-    @JoinColumn(name = "user_id", nullable = false)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(name = USER_FOREIGN_KEY))
     private User user;
 
-    @ManyToOne
-    @JoinColumn(name = "product_id", nullable = false)
+    // Read-only copy of the user id. As the partition key it is added to the where clause
+    // of entity updates and deletes, so they touch only the user's partition
+    @PartitionKey
+    @Column(name = "user_id", insertable = false, updatable = false)
+    private Integer userId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", nullable = false, foreignKey = @ForeignKey(name = PRODUCT_FOREIGN_KEY))
     private Product product;
 
     @Column(name = "created_date")
@@ -38,6 +73,11 @@ public class WishList {
 
     public void setUser(User user) {
         this.user = user;
+        this.userId = user.getId();
+    }
+
+    public Integer getUserId() {
+        return userId;
     }
 
     public Product getProduct() {
@@ -58,6 +98,7 @@ public class WishList {
 
     public WishList(User user, Product product) {
         this.user = user;
+        this.userId = user.getId();
         this.product = product;
 
 
@@ -0,0 +1,20 @@
+package com.ecommerce.WishList.entity;
+
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+/**
+ * Pooled-lo sequence generator for wishlist ids. Each value taken from the sequence
+ * reserves the block [value, value + {@value #ALLOCATION_SIZE}), so JDBC code that
+ * allocates ids from the same sequence never collides with Hibernate.
+ * <p>
+ * {@link #ALLOCATION_SIZE} is the only copy of the block size in the code and must equal
+ * the sequence's INCREMENT BY (db/migration/V3); WishlistSequenceValidator checks this at start.
+ * The V3 header still names the wishlist.id.allocation-size property this constant replaced;
+ * applied migrations are not edited, as Flyway would reject the changed checksum.
+ */
+public class WishlistIdGenerator extends SequenceStyleGenerator {
+
+    public static final String SEQUENCE_NAME = "wishlist_seq";
+
+    public static final int ALLOCATION_SIZE = 50;
+}
@@ -0,0 +1,58 @@
+package com.ecommerce.WishList.entity;
+
+import jakarta.persistence.*;
+
+import java.util.Date;
+
+// Written and read with SQL by the outbox package; mapped so the table is validated
+// against db/migration and created in the H2 schema of the tests
+@Entity
+@Table(name = "wishlist_outbox", indexes = {
+        @Index(name = "idx_wishlist_outbox_user_id", columnList = "user_id, id")
+})
+public class WishlistOutboxEvent {
+
+    public enum Type {
+        ADDED,
+        REMOVED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+
+    @Column(name = "product_id", nullable = false)
+    private Integer productId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 16)
+    private Type type;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Date occurredAt;
+
+    public WishlistOutboxEvent() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public Integer getProductId() {
+        return productId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Date getOccurredAt() {
+        return occurredAt;
+    }
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.WishList.event;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published by the service whenever products are added to or removed from a user's
+ * wishlist. Listeners that keep derived state should react after commit.
+ */
+public record WishlistChangedEvent(Integer userId, Collection<Integer> addedProductIds,
+                                   Collection<Integer> removedProductIds) {
+
+    public static WishlistChangedEvent added(Integer userId, Collection<Integer> productIds) {
+        return new WishlistChangedEvent(userId, List.copyOf(productIds), List.of());
+    }
+
+    public static WishlistChangedEvent removed(Integer userId, Collection<Integer> productIds) {
+        return new WishlistChangedEvent(userId, List.of(), List.copyOf(productIds));
+    }
+}
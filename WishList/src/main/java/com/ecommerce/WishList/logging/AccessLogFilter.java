@@ -0,0 +1,98 @@
+package com.ecommerce.WishList.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One structured line per sampled request on the {@code wishlist.access} logger, in place of
+ * the per-request INFO lines the controller and service used to write.
+ * <p>
+ * Fields are key-value pairs (method, route, userId, status, durationMs), so the encoder
+ * decides the output format. Nothing is built for requests that are not sampled. Async
+ * requests, such as the streamed export, are logged when their last dispatch completes.
+ */
+@Component
+@EnableConfigurationProperties(AccessLogProperties.class)
+@ConditionalOnProperty(prefix = "wishlist.access-log", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    static final String ACCESS_LOGGER = "wishlist.access";
+
+    private static final Logger accessLog = LoggerFactory.getLogger(ACCESS_LOGGER);
+
+    private static final String START_ATTRIBUTE = AccessLogFilter.class.getName() + ".start";
+
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+
+    public AccessLogFilter(AccessLogProperties properties) {
+        this.sampleRate = properties.getSampleRate();
+        this.slowThresholdNanos = properties.getSlowThreshold().toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        long startNanos;
+        if (start == null) {
+            startNanos = System.nanoTime();
+            request.setAttribute(START_ATTRIBUTE, startNanos);
+        } else {
+            startNanos = (Long) start;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (!request.isAsyncStarted()) {
+                long durationNanos = System.nanoTime() - startNanos;
+                if (accessLog.isInfoEnabled() && sampled(response.getStatus(), durationNanos)) {
+                    log(request, response.getStatus(), durationNanos);
+                }
+            }
+        }
+    }
+
+    // Called again for the async dispatch that completes a streamed response
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    boolean sampled(int status, long durationNanos) {
+        return status >= 500 || durationNanos >= slowThresholdNanos
+                || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private void log(HttpServletRequest request, int status, long durationNanos) {
+        // The matched pattern keeps the route low-cardinality, e.g. /wishlist/user/{userId}
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String userId = variables != null ? variables.get("userId") : null;
+        LoggingEventBuilder event = accessLog.atInfo()
+                .addKeyValue("method", request.getMethod())
+                .addKeyValue("route", route != null ? route : request.getRequestURI());
+        if (userId != null) {
+            event = event.addKeyValue("userId", userId);
+        }
+        event.addKeyValue("status", status)
+                .addKeyValue("durationMs", TimeUnit.NANOSECONDS.toMillis(durationNanos))
+                .log("request");
+    }
+}
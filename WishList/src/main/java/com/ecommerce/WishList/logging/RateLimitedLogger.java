@@ -0,0 +1,60 @@
+package com.ecommerce.WishList.logging;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logs at most one warning per key and interval, for messages that can come with
+ * every request, such as a client asking for an unknown product. The next line
+ * that gets through reports how many were dropped in between.
+ */
+public final class RateLimitedLogger {
+
+    private final Logger logger;
+    private final long intervalNanos;
+    private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    public RateLimitedLogger(Logger logger, Duration interval) {
+        this.logger = logger;
+        this.intervalNanos = interval.toNanos();
+    }
+
+    public void warn(String key, String format, Object... arguments) {
+        if (!logger.isWarnEnabled()) {
+            return;
+        }
+        long suppressed = windows.computeIfAbsent(key, k -> new Window()).tryAcquire(System.nanoTime());
+        if (suppressed < 0) {
+            return;
+        }
+        if (suppressed == 0) {
+            logger.warn(format, arguments);
+        } else {
+            Object[] withCount = Arrays.copyOf(arguments, arguments.length + 1);
+            withCount[arguments.length] = suppressed;
+            logger.warn(format + " ({} similar suppressed)", withCount);
+        }
+    }
+
+    private final class Window {
+
+        private final AtomicLong nextAt = new AtomicLong(System.nanoTime());
+        private final LongAdder suppressed = new LongAdder();
+
+        // Lines dropped since the last one logged, or -1 when this one is dropped too
+        long tryAcquire(long now) {
+            long next = nextAt.get();
+            if (now - next >= 0 && nextAt.compareAndSet(next, now + intervalNanos)) {
+                return suppressed.sumThenReset();
+            }
+            suppressed.increment();
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.ecommerce.WishList.outbox;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Holds the events until they are drained. A batch that does not fit is refused, which
+// rolls back the relay transaction and leaves the batch in the outbox instead of losing it
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final int capacity;
+    private final List<WishlistEvent> events = new ArrayList<>();
+
+    public InMemoryOutboxSink(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void publish(List<WishlistEvent> batch) {
+        if (events.size() + batch.size() > capacity) {
+            throw new IllegalStateException("Memory sink full: " + events.size() + " of " + capacity
+                    + " events held, cannot take " + batch.size() + " more");
+        }
+        events.addAll(batch);
+    }
+
+    public synchronized List<WishlistEvent> events() {
+        return List.copyOf(events);
+    }
+
+    // Hands over the held events and frees their space
+    public synchronized List<WishlistEvent> drain() {
+        List<WishlistEvent> drained = List.copyOf(events);
+        events.clear();
+        return drained;
+    }
+}
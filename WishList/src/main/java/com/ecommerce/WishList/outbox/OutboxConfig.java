@@ -0,0 +1,43 @@
+package com.ecommerce.WishList.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+
+/**
+ * Change events of the wishlist through a transactional outbox, see {@link WishlistOutbox}
+ * and {@link OutboxRelay}. The sink is chosen with {@code wishlist.outbox.sink}.
+ */
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+@ConditionalOnProperty(prefix = "wishlist.outbox", name = "enabled", havingValue = "true")
+public class OutboxConfig {
+
+    @Bean
+    public WishlistOutbox wishlistOutbox(NamedParameterJdbcTemplate jdbcTemplate) {
+        return new WishlistOutbox(jdbcTemplate);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(OutboxSink.class)
+    public OutboxSink outboxSink(OutboxProperties properties, ObjectMapper objectMapper) throws IOException {
+        return switch (properties.getSink()) {
+            case FILE -> new FileOutboxSink(properties.getFile(), objectMapper);
+            case MEMORY -> new InMemoryOutboxSink(properties.getMemoryCapacity());
+        };
+    }
+
+    @Bean
+    public OutboxRelay outboxRelay(OutboxProperties properties, NamedParameterJdbcTemplate jdbcTemplate,
+                                   TransactionTemplate transactionTemplate, OutboxSink sink, MeterRegistry registry) {
+        return new OutboxRelay(properties, jdbcTemplate, transactionTemplate, sink, registry);
+    }
+}
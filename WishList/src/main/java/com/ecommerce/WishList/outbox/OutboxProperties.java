@@ -0,0 +1,82 @@
+package com.ecommerce.WishList.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "wishlist.outbox")
+public class OutboxProperties {
+
+    public enum Sink {
+        // Newline delimited JSON appended to a local file
+        FILE,
+        // Events held in memory until drained, for tests and local runs
+        MEMORY
+    }
+
+    // Record every wishlist add and remove in the outbox table and relay them to the sink
+    private boolean enabled = false;
+
+    // Used unless the application defines its own OutboxSink bean
+    private Sink sink = Sink.FILE;
+
+    private Path file = Path.of("outbox", "wishlist-events.ndjson");
+
+    // Events the memory sink holds before it refuses more
+    private int memoryCapacity = 10_000;
+
+    // Events published and deleted per relay transaction
+    private int batchSize = 500;
+
+    // Pause between relay runs once the outbox is drained
+    private Duration pollInterval = Duration.ofMillis(200);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Sink getSink() {
+        return sink;
+    }
+
+    public void setSink(Sink sink) {
+        this.sink = sink;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public void setFile(Path file) {
+        this.file = file;
+    }
+
+    public int getMemoryCapacity() {
+        return memoryCapacity;
+    }
+
+    public void setMemoryCapacity(int memoryCapacity) {
+        this.memoryCapacity = memoryCapacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+}
@@ -0,0 +1,177 @@
+package com.ecommerce.WishList.outbox;
+
+import com.ecommerce.WishList.entity.WishlistOutboxEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes the events of the outbox table to the {@link OutboxSink} and deletes them.
+ * <p>
+ * Every instance runs a relay. Each run claims the oldest events with
+ * {@code FOR UPDATE SKIP LOCKED}, so relays never wait on each other, hands them to the
+ * sink and deletes them in the same transaction. Delivery is at least once: events the
+ * sink took are sent again when the delete does not commit.
+ * <p>
+ * A user's events are published in id order. When another relay still holds older
+ * events of a user, this one leaves that user's claimed events for a later run.
+ */
+public class OutboxRelay implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final String CLAIM = """
+            SELECT id, user_id, product_id, event_type, occurred_at FROM wishlist_outbox
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    // Oldest event of each user that is not in the claimed batch
+    private static final String FIRST_UNCLAIMED = """
+            SELECT user_id, MIN(id) AS first_id FROM wishlist_outbox
+            WHERE user_id IN (:userIds) AND id NOT IN (:ids)
+            GROUP BY user_id
+            """;
+
+    private static final String DELETE = "DELETE FROM wishlist_outbox WHERE id IN (:ids)";
+
+    private static final RowMapper<WishlistEvent> EVENT_MAPPER = (rs, rowNum) -> new WishlistEvent(
+            rs.getLong("id"),
+            rs.getInt("user_id"),
+            rs.getInt("product_id"),
+            WishlistOutboxEvent.Type.valueOf(rs.getString("event_type")),
+            rs.getTimestamp("occurred_at").toInstant());
+
+    private final OutboxProperties properties;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxSink sink;
+
+    private final Timer relayTimer;
+    private final Timer delay;
+    private final Counter published;
+
+    private ScheduledExecutorService relay;
+
+    public OutboxRelay(OutboxProperties properties, NamedParameterJdbcTemplate jdbcTemplate,
+                       TransactionTemplate transactionTemplate, OutboxSink sink, MeterRegistry registry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.sink = sink;
+        this.relayTimer = Timer.builder("wishlist.outbox.relay").register(registry);
+        this.delay = Timer.builder("wishlist.outbox.delay")
+                .description("Time from the oldest change of a batch to its delivery")
+                .register(registry);
+        this.published = Counter.builder("wishlist.outbox.published").register(registry);
+    }
+
+    //  Publishes one batch, returns the number of events published; fewer than the
+    //  batch size ends the run until the next poll
+    int relayOnce() {
+        Integer count = relayTimer.record(() -> transactionTemplate.execute(status -> {
+            List<WishlistEvent> batch = jdbcTemplate.query(CLAIM,
+                    new MapSqlParameterSource("limit", properties.getBatchSize()), EVENT_MAPPER);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            List<WishlistEvent> events = inUserOrder(batch);
+            if (events.isEmpty()) {
+                return 0;
+            }
+            sink.publish(events);
+            jdbcTemplate.update(DELETE, new MapSqlParameterSource("ids", ids(events)));
+            delay.record(Duration.between(events.get(0).occurredAt(), Instant.now()));
+            published.increment(events.size());
+            return events.size();
+        }));
+        return count == null ? 0 : count;
+    }
+
+    //  The claimed events of each user up to the first one another relay holds
+    private List<WishlistEvent> inUserOrder(List<WishlistEvent> batch) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userIds", batch.stream().map(WishlistEvent::userId).collect(Collectors.toSet()))
+                .addValue("ids", ids(batch));
+        Map<Integer, Long> firstUnclaimed = new HashMap<>();
+        jdbcTemplate.query(FIRST_UNCLAIMED, params,
+                (RowCallbackHandler) rs -> firstUnclaimed.put(rs.getInt("user_id"), rs.getLong("first_id")));
+        if (firstUnclaimed.isEmpty()) {
+            return batch;
+        }
+        List<WishlistEvent> events = batch.stream()
+                .filter(event -> event.id() < firstUnclaimed.getOrDefault(event.userId(), Long.MAX_VALUE))
+                .toList();
+        if (events.size() < batch.size()) {
+            logger.debug("Left {} outbox events to the relay holding older events of their users",
+                    batch.size() - events.size());
+        }
+        return events;
+    }
+
+    private static Set<Long> ids(List<WishlistEvent> events) {
+        return events.stream().map(WishlistEvent::id).collect(Collectors.toSet());
+    }
+
+    private void relaySafely() {
+        try {
+            while (relayOnce() >= properties.getBatchSize()) {
+                // drain in batches until the outbox is empty
+            }
+        } catch (RuntimeException ex) {
+            logger.error("Outbox relay failed, retrying in {}", properties.getPollInterval(), ex);
+        }
+    }
+
+    @Override
+    public void start() {
+        relay = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "wishlist-outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getPollInterval().toMillis();
+        relay.scheduleWithFixedDelay(this::relaySafely, interval, interval, TimeUnit.MILLISECONDS);
+        logger.info("Relaying wishlist events to {}", sink.getClass().getSimpleName());
+    }
+
+    @Override
+    public void stop() {
+        if (relay == null) {
+            return;
+        }
+        // Undelivered events stay in the outbox for the next start or another instance
+        relay.shutdown();
+        try {
+            relay.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        relay = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return relay != null;
+    }
+}
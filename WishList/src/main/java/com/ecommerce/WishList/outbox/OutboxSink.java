@@ -0,0 +1,16 @@
+package com.ecommerce.WishList.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of the wishlist change events. Define a bean of this type to replace
+ * the sink chosen with {@code wishlist.outbox.sink}.
+ */
+public interface OutboxSink {
+
+    /**
+     * Delivers a batch, in id order. Returns once the events are safely stored at the
+     * destination; an exception leaves the whole batch in the outbox to be sent again.
+     */
+    void publish(List<WishlistEvent> events);
+}
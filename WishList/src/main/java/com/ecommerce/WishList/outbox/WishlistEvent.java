@@ -0,0 +1,14 @@
+package com.ecommerce.WishList.outbox;
+
+import com.ecommerce.WishList.entity.WishlistOutboxEvent;
+
+import java.time.Instant;
+
+/**
+ * A product added to or removed from a user's wishlist, as handed to an {@link OutboxSink}.
+ * Ids grow in the order a user's changes were committed; an event delivered twice has the
+ * same id both times, so consumers can drop repeats by id.
+ */
+public record WishlistEvent(long id, Integer userId, Integer productId, WishlistOutboxEvent.Type type,
+                            Instant occurredAt) {
+}
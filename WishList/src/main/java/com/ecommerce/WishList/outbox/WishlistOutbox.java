@@ -0,0 +1,47 @@
+package com.ecommerce.WishList.outbox;
+
+import com.ecommerce.WishList.entity.WishlistOutboxEvent;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Date;
+
+/**
+ * Records wishlist changes in the {@code wishlist_outbox} table, in the transaction that
+ * makes them, for the {@link OutboxRelay} to publish. While this bean exists the single
+ * statement write paths of the repository insert their events in that same statement;
+ * the service calls {@link #append} on the paths that go through JPA.
+ */
+public class WishlistOutbox {
+
+    private static final String INSERT = """
+            INSERT INTO wishlist_outbox (user_id, product_id, event_type, occurred_at)
+            VALUES (:userId, :productId, :type, :occurredAt)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public WishlistOutbox(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    //  Called after the user's counter moved: that row lock orders the writers of one user,
+    //  so their events get ids in commit order
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(Integer userId, WishlistOutboxEvent.Type type, Collection<Integer> productIds, Date occurredAt) {
+        Timestamp timestamp = new Timestamp(occurredAt.getTime());
+        SqlParameterSource[] batch = productIds.stream()
+                .map(productId -> new MapSqlParameterSource()
+                        .addValue("userId", userId)
+                        .addValue("productId", productId)
+                        .addValue("type", type.name())
+                        .addValue("occurredAt", timestamp))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INSERT, batch);
+    }
+}
@@ -1,8 +1,32 @@
 package com.ecommerce.WishList.repository;
 
+import com.ecommerce.WishList.dto.ProductSnapshot;
 import com.ecommerce.WishList.entity.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface ProductRepository extends JpaRepository<Product, Integer> {
 
-}
\ No newline at end of file
+    //  Snapshots for the product near-cache, without loading managed entities
+    @Transactional(readOnly = true)
+    @Query("select new com.ecommerce.WishList.dto.ProductSnapshot(p.id, p.name, p.price, p.stock) "
+            + "from Product p where p.id in :ids")
+    List<ProductSnapshot> findSnapshotsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    //  Number of wishlists holding the product, read from the counter column
+    @Transactional(readOnly = true)
+    @Query("select p.wishlistCount from Product p where p.id = :productId")
+    Optional<Integer> findWishlistCount(@Param("productId") Integer productId);
+
+    //  Moves the counter of each product by delta; must run in the transaction that changed the wishlist rows
+    @Modifying
+    @Query("update Product p set p.wishlistCount = p.wishlistCount + :delta where p.id in :productIds")
+    int adjustWishlistCount(@Param("productIds") Collection<Integer> productIds, @Param("delta") int delta);
+}
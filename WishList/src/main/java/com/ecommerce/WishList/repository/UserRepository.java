@@ -3,7 +3,31 @@ package com.ecommerce.WishList.repository;
 
 import com.ecommerce.WishList.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Integer> {
 
+    //  Number of items in the user's wishlist, read from the counter column. Not read-only, so it
+    //  is read from the primary: a lagging replica would report a total the page does not match
+    @Transactional
+    @Query("select u.wishlistItemCount from User u where u.id = :userId")
+    Optional<Integer> findWishlistItemCount(@Param("userId") Integer userId);
+
+    //  Version of the user's wishlist, bumped on every change; see WishlistVersionCache. Read from
+    //  the primary, as a replica's stale version would be cached and served as the current ETag
+    @Transactional
+    @Query("select u.wishlistVersion from User u where u.id = :userId")
+    Optional<Long> findWishlistVersion(@Param("userId") Integer userId);
+
+    //  Moves the counter by delta and bumps the wishlist version; must run in the
+    //  transaction that changed the wishlist rows
+    @Modifying
+    @Query("update User u set u.wishlistItemCount = u.wishlistItemCount + :delta, "
+            + "u.wishlistVersion = u.wishlistVersion + 1 where u.id = :userId")
+    int adjustWishlistItemCount(@Param("userId") Integer userId, @Param("delta") int delta);
 }
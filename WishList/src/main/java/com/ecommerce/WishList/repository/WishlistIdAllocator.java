@@ -0,0 +1,45 @@
+package com.ecommerce.WishList.repository;
+
+import com.ecommerce.WishList.entity.WishlistIdGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out wishlist ids for inserts issued through plain SQL. It reserves blocks from
+ * the same sequence and with the same pooled-lo layout as {@link WishlistIdGenerator},
+ * so only one in every {@link WishlistIdGenerator#ALLOCATION_SIZE} ids costs a round trip
+ * to the database. {@link com.ecommerce.WishList.config.WishlistSequenceValidator} checks at
+ * start that the sequence steps by that size.
+ */
+@Component
+public class WishlistIdAllocator {
+
+    private static final String NEXT_BLOCK = "select nextval('" + WishlistIdGenerator.SEQUENCE_NAME + "')";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Current block is [next, limit)
+    private long next;
+    private long limit;
+
+    public WishlistIdAllocator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public int nextId() {
+        lock.lock();
+        try {
+            if (next >= limit) {
+                Long blockStart = jdbcTemplate.queryForObject(NEXT_BLOCK, Long.class);
+                next = blockStart;
+                limit = blockStart + WishlistIdGenerator.ALLOCATION_SIZE;
+            }
+            return Math.toIntExact(next++);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
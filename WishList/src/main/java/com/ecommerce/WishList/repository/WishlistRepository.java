@@ -1,24 +1,90 @@
 package com.ecommerce.WishList.repository;
 
+import com.ecommerce.WishList.dto.WishlistEntry;
+import com.ecommerce.WishList.dto.WishlistItemView;
 import com.ecommerce.WishList.entity.Product;
 import com.ecommerce.WishList.entity.User;
 import com.ecommerce.WishList.entity.WishList;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface WishlistRepository extends JpaRepository<WishList, Integer> {
+public interface WishlistRepository extends JpaRepository<WishList, Integer>, WishlistRepositoryCustom {
 
     //  Find wishlist items by user id
-    //List<WishList> findByUserId(Integer userId);
+    //  The page is fetched together with its user and products in one join; the count query stays a plain count
+    @EntityGraph(attributePaths = {"user", "product"})
     Page<WishList> findByUserId(Integer userId, Pageable pageable);
 
+    //  Page of a user's wishlist rows, without the product join; product fields come from the near-cache.
+    //  No count query: the total is the user's wishlist_item_count. Read from the primary like the
+    //  wishlist version the page is cached and tagged with, so a lagging replica cannot serve older rows
+    @Transactional
+    @Query("select new com.ecommerce.WishList.dto.WishlistEntry(w.id, w.product.id, w.createdDate) "
+            + "from WishList w where w.user.id = :userId order by w.createdDate, w.id")
+    List<WishlistEntry> findEntriesByUserId(@Param("userId") Integer userId, Pageable pageable);
+
+    //  Keyset scan: first rows of a user's wishlist in (createdDate, id) order, no count query
+    @Transactional(readOnly = true)
+    @Query("select new com.ecommerce.WishList.dto.WishlistEntry(w.id, w.product.id, w.createdDate) "
+            + "from WishList w where w.user.id = :userId order by w.createdDate, w.id")
+    List<WishlistEntry> findFirstEntries(@Param("userId") Integer userId, Limit limit);
+
+    //  Keyset scan: rows strictly after the given (createdDate, id) position
+    @Transactional(readOnly = true)
+    @Query("select new com.ecommerce.WishList.dto.WishlistEntry(w.id, w.product.id, w.createdDate) "
+            + "from WishList w where w.user.id = :userId "
+            + "and (w.createdDate > :createdDate or (w.createdDate = :createdDate and w.id > :wishlistId)) "
+            + "order by w.createdDate, w.id")
+    List<WishlistEntry> findEntriesAfter(@Param("userId") Integer userId,
+                                         @Param("createdDate") Date createdDate,
+                                         @Param("wishlistId") Integer wishlistId,
+                                         Limit limit);
+
+    //  Forward-only cursor over a user's whole wishlist; rows are fetched from the driver in batches
+    //  and must be consumed inside a transaction (Postgres only uses a cursor when autocommit is off)
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.ecommerce.WishList.dto.WishlistItemView(w.id, p.id, p.name, p.price, p.stock, w.createdDate) "
+            + "from WishList w join w.product p where w.user.id = :userId order by w.createdDate, w.id")
+    Stream<WishlistItemView> streamItemViewsByUserId(@Param("userId") Integer userId);
+
     //  Find a specific wishlist item by user and product
     Optional<WishList> findByUserIdAndProductId(Integer userId, Integer productId);
 
+    //  Which of the given products are already in the user's wishlist
+    @Query("select w.product.id from WishList w where w.user.id = :userId and w.product.id in :productIds")
+    List<Integer> findProductIdsInWishlist(@Param("userId") Integer userId,
+                                           @Param("productIds") Collection<Integer> productIds);
+
+    //  Every product id in a user's wishlist, used to build the membership index. Read from the primary:
+    //  the set is kept until it goes unused, so a lagging replica's answer would stick
+    @Transactional
+    @Query("select w.product.id from WishList w where w.user.id = :userId")
+    List<Integer> findProductIdsByUserId(@Param("userId") Integer userId);
+
+    //  Remove several products from a user's wishlist in one DELETE statement
+    @Modifying
+    @Query("delete from WishList w where w.user.id = :userId and w.product.id in :productIds")
+    int deleteByUserIdAndProductIds(@Param("userId") Integer userId,
+                                    @Param("productIds") Collection<Integer> productIds);
+
     //  Check if a product already exists in the users wishlist
     boolean existsByUserAndProduct(User user, Product product);
 
@@ -0,0 +1,43 @@
+package com.ecommerce.WishList.repository;
+
+import com.ecommerce.WishList.dto.ProductScore;
+import com.ecommerce.WishList.dto.WishlistItemView;
+import com.ecommerce.WishList.writebehind.WishlistMutation;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Paths of {@link WishlistRepository} that are issued as single SQL statements.
+ * Each write statement also moves {@code users.wishlist_item_count} and
+ * {@code products.wishlist_count} for the rows it actually inserted or deleted and,
+ * with the outbox enabled, records their change events in {@code wishlist_outbox}.
+ */
+public interface WishlistRepositoryCustom {
+
+    /**
+     * Inserts the (user, product) pair if the product exists, is in stock and is not
+     * already in the user's wishlist. Returns the new row, or empty when nothing was inserted.
+     * A missing user surfaces as a foreign key violation.
+     */
+    Optional<WishlistItemView> insertIfAbsent(Integer userId, Integer productId, Date createdDate);
+
+    /**
+     * Batched form of {@link #insertIfAbsent} for write-behind ADD mutations, one JDBC batch.
+     * Returns the update count per mutation, which may be {@link java.sql.Statement#SUCCESS_NO_INFO}.
+     */
+    int[] insertAllIfAbsent(List<WishlistMutation> mutations);
+
+    /**
+     * Deletes the (user, product) pair of each REMOVE mutation, one JDBC batch.
+     */
+    int[] deleteAll(List<WishlistMutation> mutations);
+
+    /**
+     * Highest {@link ProductScore}s over the rows created since {@code since}: each row counts
+     * 1 at its created date, halved for every half-life before {@code now}.
+     */
+    List<ProductScore> findProductScores(Date since, Date now, Duration halfLife, int limit);
+}
@@ -0,0 +1,175 @@
+package com.ecommerce.WishList.repository;
+
+import com.ecommerce.WishList.dto.ProductScore;
+import com.ecommerce.WishList.dto.WishlistItemView;
+import com.ecommerce.WishList.outbox.WishlistOutbox;
+import com.ecommerce.WishList.writebehind.WishlistMutation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+public class WishlistRepositoryImpl implements WishlistRepositoryCustom {
+
+    // Stock check, insert, both counters and the returned row in one round trip. Duplicates are
+    // skipped by the unique index and then leave the counters and the user's wishlist version
+    // alone. Users are updated before products on every write path so concurrent writers lock
+    // rows in the same order. With the outbox enabled the change event is inserted too, after
+    // the user row is locked so a user's events get ids in commit order
+    private static final String INSERT_IF_ABSENT = """
+            WITH inserted AS (
+                INSERT INTO wishlist (id, user_id, product_id, created_date)
+                SELECT :id, :userId, p.id, :createdDate FROM products p
+                WHERE p.id = :productId AND p.stock > 0
+                ON CONFLICT (user_id, product_id) DO NOTHING
+                RETURNING id, user_id, product_id, created_date
+            ), user_count AS (
+                UPDATE users u SET wishlist_item_count = u.wishlist_item_count + 1,
+                                   wishlist_version = u.wishlist_version + 1
+                FROM inserted i WHERE u.id = i.user_id
+                RETURNING u.id
+            ), outbox AS (
+                INSERT INTO wishlist_outbox (user_id, product_id, event_type, occurred_at)
+                SELECT i.user_id, i.product_id, 'ADDED', i.created_date
+                FROM inserted i JOIN user_count u ON u.id = i.user_id
+                WHERE :outbox
+            ), product_count AS (
+                UPDATE products p SET wishlist_count = p.wishlist_count + 1
+                FROM inserted i WHERE p.id = i.product_id
+                RETURNING p.id, p.name, p.price, p.stock
+            )
+            SELECT i.id, p.id AS product_id, p.name, p.price, p.stock, i.created_date
+            FROM inserted i JOIN product_count p ON p.id = i.product_id
+            """;
+
+    // The final UPDATE reports 1 when the row was inserted and 0 when it was skipped
+    private static final String INSERT_ALL_IF_ABSENT = """
+            WITH inserted AS (
+                INSERT INTO wishlist (id, user_id, product_id, created_date)
+                SELECT :id, :userId, p.id, :createdDate FROM products p
+                WHERE p.id = :productId AND p.stock > 0
+                ON CONFLICT (user_id, product_id) DO NOTHING
+                RETURNING user_id, product_id, created_date
+            ), user_count AS (
+                UPDATE users u SET wishlist_item_count = u.wishlist_item_count + 1,
+                                   wishlist_version = u.wishlist_version + 1
+                FROM inserted i WHERE u.id = i.user_id
+                RETURNING u.id
+            ), outbox AS (
+                INSERT INTO wishlist_outbox (user_id, product_id, event_type, occurred_at)
+                SELECT i.user_id, i.product_id, 'ADDED', i.created_date
+                FROM inserted i JOIN user_count u ON u.id = i.user_id
+                WHERE :outbox
+            )
+            UPDATE products p SET wishlist_count = p.wishlist_count + 1
+            FROM inserted i WHERE p.id = i.product_id
+            """;
+
+    private static final String DELETE_PAIR = """
+            WITH deleted AS (
+                DELETE FROM wishlist WHERE user_id = :userId AND product_id = :productId
+                RETURNING user_id, product_id
+            ), user_count AS (
+                UPDATE users u SET wishlist_item_count = u.wishlist_item_count - 1,
+                                   wishlist_version = u.wishlist_version + 1
+                FROM deleted d WHERE u.id = d.user_id
+                RETURNING u.id
+            ), outbox AS (
+                INSERT INTO wishlist_outbox (user_id, product_id, event_type, occurred_at)
+                SELECT d.user_id, d.product_id, 'REMOVED', :occurredAt
+                FROM deleted d JOIN user_count u ON u.id = d.user_id
+                WHERE :outbox
+            )
+            UPDATE products p SET wishlist_count = p.wishlist_count - 1
+            FROM deleted d WHERE p.id = d.product_id
+            """;
+
+    // Served by the (created_date, product_id) index without reading the table. Both sides of the
+    // age go through EXTRACT so they are read in the same time zone as the stored timestamps
+    private static final String PRODUCT_SCORES = """
+            SELECT product_id,
+                   SUM(POWER(2, (EXTRACT(EPOCH FROM created_date) - EXTRACT(EPOCH FROM CAST(:now AS TIMESTAMP)))
+                                / :halfLifeSeconds)) AS score
+            FROM wishlist
+            WHERE created_date >= :since
+            GROUP BY product_id
+            ORDER BY score DESC
+            LIMIT :limit
+            """;
+
+    static final RowMapper<WishlistItemView> ITEM_VIEW_MAPPER = (rs, rowNum) -> new WishlistItemView(
+            rs.getInt("id"),
+            rs.getInt("product_id"),
+            rs.getString("name"),
+            rs.getDouble("price"),
+            rs.getInt("stock"),
+            rs.getTimestamp("created_date"));
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private WishlistIdAllocator idAllocator;
+
+    // Present only when wishlist.outbox.enabled is set
+    @Autowired(required = false)
+    private WishlistOutbox outbox;
+
+    @Override
+    public Optional<WishlistItemView> insertIfAbsent(Integer userId, Integer productId, Date createdDate) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", idAllocator.nextId())
+                .addValue("userId", userId)
+                .addValue("productId", productId)
+                .addValue("createdDate", new Timestamp(createdDate.getTime()))
+                .addValue("outbox", outbox != null);
+        List<WishlistItemView> inserted = jdbcTemplate.query(INSERT_IF_ABSENT, params, ITEM_VIEW_MAPPER);
+        return inserted.stream().findFirst();
+    }
+
+    @Override
+    public int[] insertAllIfAbsent(List<WishlistMutation> mutations) {
+        SqlParameterSource[] batch = mutations.stream()
+                .map(mutation -> new MapSqlParameterSource()
+                        .addValue("id", idAllocator.nextId())
+                        .addValue("userId", mutation.userId())
+                        .addValue("productId", mutation.productId())
+                        .addValue("createdDate", Timestamp.from(mutation.acceptedAt()))
+                        .addValue("outbox", outbox != null))
+                .toArray(SqlParameterSource[]::new);
+        return jdbcTemplate.batchUpdate(INSERT_ALL_IF_ABSENT, batch);
+    }
+
+    @Override
+    public int[] deleteAll(List<WishlistMutation> mutations) {
+        SqlParameterSource[] batch = mutations.stream()
+                .map(mutation -> new MapSqlParameterSource()
+                        .addValue("userId", mutation.userId())
+                        .addValue("productId", mutation.productId())
+                        .addValue("occurredAt", Timestamp.from(mutation.acceptedAt()))
+                        .addValue("outbox", outbox != null))
+                .toArray(SqlParameterSource[]::new);
+        return jdbcTemplate.batchUpdate(DELETE_PAIR, batch);
+    }
+
+    // Read-only so it can be served by a read replica
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductScore> findProductScores(Date since, Date now, Duration halfLife, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("since", new Timestamp(since.getTime()))
+                .addValue("now", new Timestamp(now.getTime()))
+                .addValue("halfLifeSeconds", halfLife.toMillis() / 1000.0)
+                .addValue("limit", limit);
+        return jdbcTemplate.query(PRODUCT_SCORES, params,
+                (rs, rowNum) -> new ProductScore(rs.getInt("product_id"), rs.getDouble("score")));
+    }
+}
@@ -0,0 +1,33 @@
+package com.ecommerce.WishList.routing;
+
+import com.ecommerce.WishList.event.WishlistChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Remembers which users changed their wishlist within the stickiness window, so that
+ * their next reads go to the primary instead of a replica that may not have the write yet.
+ */
+public class ReadYourWritesTracker {
+
+    private final Cache<Integer, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration stickiness) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickiness)
+                .build();
+    }
+
+    public boolean wroteRecently(Integer userId) {
+        return recentWriters.getIfPresent(userId) != null;
+    }
+
+    // After commit, so the window starts once the write is visible on the primary
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWishlistChanged(WishlistChangedEvent event) {
+        recentWriters.put(event.userId(), Boolean.TRUE);
+    }
+}
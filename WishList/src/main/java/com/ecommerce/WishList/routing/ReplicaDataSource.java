@@ -0,0 +1,163 @@
+package com.ecommerce.WishList.routing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-only side of {@link ReplicaRoutingDataSource}: hands out connections of the
+ * replicas in turn, skipping any whose last lag check failed or exceeded the tolerance.
+ * Falls back to the primary when no replica qualifies, when a replica refuses a
+ * connection, or when the current thread has to read its own writes ({@link ReadYourWrites}).
+ */
+public class ReplicaDataSource extends AbstractDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final double maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder primaryReads = new LongAdder();
+
+    public ReplicaDataSource(DataSource primary, List<Replica> replicas, Duration maxLag) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getConnection(null, null);
+    }
+
+    // Explicit credentials are passed on to whichever node serves the read; null means the configured ones
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (!ReadYourWrites.isPrimaryRequired()) {
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+                if (!replica.isAvailable()) {
+                    continue;
+                }
+                try {
+                    Connection connection = connect(replica.getDataSource(), username, password);
+                    replica.reads.increment();
+                    return connection;
+                } catch (SQLException ex) {
+                    replica.markUnavailable("connection failed: " + ex.getMessage());
+                }
+            }
+        }
+        primaryReads.increment();
+        return connect(primary, username, password);
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public long getPrimaryReads() {
+        return primaryReads.sum();
+    }
+
+    // Closes the replica pools; the primary belongs to the caller
+    public void close() {
+        for (Replica replica : replicas) {
+            if (replica.getDataSource() instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception ex) {
+                    logger.warn("Failed to close replica {}", replica.getName(), ex);
+                }
+            }
+        }
+    }
+
+    private static Connection connect(DataSource dataSource, String username, String password) throws SQLException {
+        return username == null ? dataSource.getConnection() : dataSource.getConnection(username, password);
+    }
+
+    // Runs the lag query on every replica and updates which ones may serve reads
+    public void checkLag(String lagQuery) {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.getDataSource().getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery(lagQuery)) {
+                result.next();
+                double lagSeconds = result.getDouble(1);
+                replica.lagSeconds = lagSeconds;
+                if (lagSeconds <= maxLagSeconds) {
+                    replica.markAvailable();
+                } else {
+                    replica.markUnavailable("lag " + lagSeconds + "s over " + maxLagSeconds + "s");
+                }
+            } catch (SQLException ex) {
+                replica.lagSeconds = Double.NaN;
+                replica.markUnavailable("lag check failed: " + ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * One replica and its state from the last lag check. Replicas start unavailable,
+     * so nothing is read from them before their first successful check.
+     */
+    public static class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final LongAdder reads = new LongAdder();
+        private volatile boolean available;
+        private volatile double lagSeconds = Double.NaN;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public DataSource getDataSource() {
+            return dataSource;
+        }
+
+        public boolean isAvailable() {
+            return available;
+        }
+
+        public double getLagSeconds() {
+            return lagSeconds;
+        }
+
+        public long getReads() {
+            return reads.sum();
+        }
+
+        private void markAvailable() {
+            if (!available) {
+                logger.info("Replica {} is serving reads", name);
+                available = true;
+            }
+        }
+
+        private void markUnavailable(String reason) {
+            if (available) {
+                logger.warn("Replica {} taken out of rotation, {}", name, reason);
+                available = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.ecommerce.WishList.routing;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the lag query against every replica on a fixed delay, taking replicas out of
+ * rotation while they are too far behind or unreachable, and putting them back once
+ * they catch up.
+ */
+public class ReplicaLagMonitor implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final ReplicaDataSource replicas;
+    private final String lagQuery;
+    private final Duration interval;
+
+    private ScheduledExecutorService checker;
+
+    public ReplicaLagMonitor(ReplicaDataSource replicas, ReplicaProperties properties, MeterRegistry registry) {
+        this.replicas = replicas;
+        this.lagQuery = properties.getLagQuery();
+        this.interval = properties.getLagCheckInterval();
+        for (ReplicaDataSource.Replica replica : replicas.getReplicas()) {
+            Gauge.builder("wishlist.db.replica.lag", replica, ReplicaDataSource.Replica::getLagSeconds)
+                    .tag("replica", replica.getName())
+                    .baseUnit("seconds")
+                    .register(registry);
+            Gauge.builder("wishlist.db.replica.available", replica, r -> r.isAvailable() ? 1 : 0)
+                    .tag("replica", replica.getName())
+                    .register(registry);
+            FunctionCounter.builder("wishlist.db.replica.reads", replica, ReplicaDataSource.Replica::getReads)
+                    .tag("replica", replica.getName())
+                    .register(registry);
+        }
+        // Read-only connections that fell back to the primary
+        FunctionCounter.builder("wishlist.db.replica.reads", replicas, ReplicaDataSource::getPrimaryReads)
+                .tag("replica", "primary")
+                .register(registry);
+    }
+
+    @Override
+    public void start() {
+        checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "wishlist-replica-lag");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checker.scheduleWithFixedDelay(this::checkSafely, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+        logger.info("Routing read-only transactions to {} replica(s)", replicas.getReplicas().size());
+    }
+
+    @Override
+    public void stop() {
+        if (checker != null) {
+            checker.shutdownNow();
+            checker = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return checker != null;
+    }
+
+    private void checkSafely() {
+        try {
+            replicas.checkLag(lagQuery);
+        } catch (RuntimeException ex) {
+            logger.warn("Replica lag check failed", ex);
+        }
+    }
+}
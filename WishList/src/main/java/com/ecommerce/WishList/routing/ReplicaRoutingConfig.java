@@ -0,0 +1,128 @@
+package com.ecommerce.WishList.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Read replica routing: read-only transactions go to the {@code wishlist.replicas.nodes},
+ * everything else to {@code spring.datasource}. A user's reads stay on the primary for
+ * {@code wishlist.replicas.stickiness} after each of their writes.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+@ConditionalOnProperty(prefix = "wishlist.replicas", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingConfig.class);
+
+    // Static so the post processor does not force early initialization of this configuration.
+    // Runs last, so it wraps the primary after the db limiter has
+    @Bean
+    public static BeanPostProcessor replicaRoutingDataSourcePostProcessor(Environment environment) {
+        return new RoutingPostProcessor(environment);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(DataSource dataSource, ReplicaProperties properties,
+                                               MeterRegistry registry) {
+        return new ReplicaLagMonitor(((ReplicaRoutingDataSource) dataSource).getReplicaDataSource(),
+                properties, registry);
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaProperties properties) {
+        return new ReadYourWritesTracker(properties.getStickiness());
+    }
+
+    @Bean
+    public WebMvcConfigurer readYourWritesConfigurer(ReadYourWritesTracker tracker) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new ReadYourWritesInterceptor(tracker));
+            }
+        };
+    }
+
+    // Carries the pin over to async request processing, e.g. the streamed export
+    @Bean
+    public TaskDecorator readYourWritesTaskDecorator() {
+        return runnable -> {
+            boolean primaryRequired = ReadYourWrites.isPrimaryRequired();
+            return () -> {
+                if (primaryRequired) {
+                    ReadYourWrites.requirePrimary();
+                }
+                try {
+                    runnable.run();
+                } finally {
+                    ReadYourWrites.clear();
+                }
+            };
+        };
+    }
+
+    private static final class RoutingPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final Environment environment;
+
+        private RoutingPostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!"dataSource".equals(beanName) || !(bean instanceof DataSource primary)
+                    || bean instanceof ReplicaRoutingDataSource) {
+                return bean;
+            }
+            ReplicaProperties properties = Binder.get(environment)
+                    .bind("wishlist.replicas", ReplicaProperties.class)
+                    .orElseGet(ReplicaProperties::new);
+            if (properties.getNodes().isEmpty()) {
+                throw new IllegalStateException("wishlist.replicas.enabled is set but no wishlist.replicas.nodes are configured");
+            }
+            List<ReplicaDataSource.Replica> replicas = properties.getNodes().stream()
+                    .map(node -> new ReplicaDataSource.Replica(node.getName(), replicaPool(node)))
+                    .toList();
+            logger.info("Read replicas {}, max lag {}", replicas.stream().map(ReplicaDataSource.Replica::getName).toList(),
+                    properties.getMaxLag());
+            return new ReplicaRoutingDataSource(primary, new ReplicaDataSource(primary, replicas, properties.getMaxLag()));
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+
+        private static HikariDataSource replicaPool(ReplicaProperties.Node node) {
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(node.getUrl())
+                    .username(node.getUsername())
+                    .password(node.getPassword())
+                    .build();
+            pool.setPoolName("replica-" + node.getName());
+            pool.setMaximumPoolSize(node.getMaximumPoolSize());
+            pool.setReadOnly(true);
+            return pool;
+        }
+    }
+}
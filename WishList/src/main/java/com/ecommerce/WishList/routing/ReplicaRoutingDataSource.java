@@ -0,0 +1,37 @@
+package com.ecommerce.WishList.routing;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Primary DataSource that sends read-only transactions to the replicas.
+ * <p>
+ * Connections are handed out lazily: the target is only chosen on the first statement,
+ * after the transaction manager has marked the connection read-only or not. Read-only
+ * connections come from the {@link ReplicaDataSource}, everything else from the primary.
+ * This relies on transactions owning their connection, so open-in-view must be off.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private final ReplicaDataSource replicas;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaDataSource replicas) {
+        super(primary);
+        this.replicas = replicas;
+        setReadOnlyDataSource(replicas);
+    }
+
+    public ReplicaDataSource getReplicaDataSource() {
+        return replicas;
+    }
+
+    // Picked up as the inferred destroy method of the dataSource bean, which now is this proxy
+    @Override
+    public void close() throws Exception {
+        replicas.close();
+        if (getTargetDataSource() instanceof AutoCloseable primary) {
+            primary.close();
+        }
+    }
+}
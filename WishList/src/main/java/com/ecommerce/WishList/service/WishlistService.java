@@ -1,28 +1,72 @@
 package com.ecommerce.WishList.service;
 
 import com.ecommerce.WishList.Exception.*;
-import com.ecommerce.WishList.entity.Product;
+import com.ecommerce.WishList.cache.ProductNearCache;
+import com.ecommerce.WishList.cache.WishlistMembershipIndex;
+import com.ecommerce.WishList.cache.WishlistVersionCache;
+import com.ecommerce.WishList.config.CacheConfig;
+import com.ecommerce.WishList.dto.BulkItemResult;
+import com.ecommerce.WishList.dto.BulkItemStatus;
+import com.ecommerce.WishList.dto.ProductSnapshot;
+import com.ecommerce.WishList.dto.ProductWishlistCount;
+import com.ecommerce.WishList.dto.TrendingProduct;
+import com.ecommerce.WishList.dto.UserWishlistCount;
+import com.ecommerce.WishList.dto.WishlistAddResult;
+import com.ecommerce.WishList.dto.WishlistCursor;
+import com.ecommerce.WishList.dto.WishlistEntry;
+import com.ecommerce.WishList.dto.WishlistItemView;
+import com.ecommerce.WishList.dto.WishlistScrollPage;
+import com.ecommerce.WishList.event.WishlistChangedEvent;
 import com.ecommerce.WishList.entity.User;
 import com.ecommerce.WishList.entity.WishList;
+import com.ecommerce.WishList.entity.WishlistOutboxEvent;
+import com.ecommerce.WishList.outbox.WishlistOutbox;
 import com.ecommerce.WishList.repository.ProductRepository;
 import com.ecommerce.WishList.repository.UserRepository;
 import com.ecommerce.WishList.repository.WishlistRepository;
+import com.ecommerce.WishList.trending.SpaceSavingSketch;
+import com.ecommerce.WishList.trending.WishlistTrending;
+import com.ecommerce.WishList.writebehind.WishlistMutation;
+import com.ecommerce.WishList.writebehind.WishlistWriteBehind;
+import org.postgresql.util.PSQLException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class WishlistService {
 
     private static final Logger logger = LoggerFactory.getLogger(WishlistService.class);
 
+    static final int MAX_BULK_SIZE = 100;
+
     @Autowired
     private WishlistRepository wishlistRepository;
     @Autowired
@@ -31,67 +75,399 @@ public class WishlistService {
     @Autowired
     private ProductRepository productRepository;
 
-    @Cacheable(value = "wishlistCache", key = "#userId")
-    public Page<WishList> getWishlistItems(Integer userId, int page, int size) {
-        logger.info("Fetching wishlist items for userId: {}", userId);
-        Page<WishList> wishlist = wishlistRepository.findByUserId(userId, PageRequest.of(page, size));
-        if (wishlist.isEmpty()) {
-            logger.warn("Wishlist is empty for userId: {}", userId);
-            throw new WishlistNotFoundException("Wishlist not found for user: " + userId);
-        }
-        logger.info("Successfully fetched wishlist items for userId: {}", userId);
+    @Autowired
+    private ProductNearCache productCache;
+
+    @Autowired
+    private WishlistMembershipIndex membershipIndex;
+
+    @Autowired
+    private WishlistVersionCache versionCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Present only when wishlist.write-behind.enabled is set
+    @Autowired(required = false)
+    private WishlistWriteBehind writeBehind;
+
+    // Absent when wishlist.trending.enabled is false
+    @Autowired(required = false)
+    private WishlistTrending trending;
+
+    // Present only when wishlist.outbox.enabled is set
+    @Autowired(required = false)
+    private WishlistOutbox outbox;
+
+    @Cacheable(value = CacheConfig.WISHLIST_CACHE,
+            key = "T(com.ecommerce.WishList.cache.WishlistPageKey).of(#userId, #page, #size, @wishlistVersionCache.version(#userId))")
+    public Page<WishlistItemView> getWishlistItems(Integer userId, int page, int size) {
+        logger.debug("Fetching wishlist items for userId: {}", userId);
+        Page<WishlistItemView> wishlist = loadWishlistPage(userId, page, size);
+        logger.debug("Successfully fetched wishlist items for userId: {}", userId);
         return wishlist;
     }
 
-    @CacheEvict(value = "wishlistCache", key = "#userId + '-*'")
-    public WishList addToWishlist(Integer userId, Integer productId) {
-        logger.info("Attempting to add productId: {} to wishlist for userId: {}", productId, userId);
+    //  Version of the user's wishlist, from memory; changes whenever an item is added or removed.
+    //  Empty for an unknown user
+    public Optional<Long> getWishlistVersion(Integer userId) {
+        return versionCache.get(userId);
+    }
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    logger.error("User not found with ID: {}", userId);
-                    return new UserNotFoundException("User not found with ID: " + userId);
-                });
+    //  Uncached page read, also used by the cache to refresh entries. An empty wishlist
+    //  is an empty page, not an error
+    public Page<WishlistItemView> loadWishlistPage(Integer userId, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        List<WishlistEntry> entries = wishlistRepository.findEntriesByUserId(userId, pageable);
+        if (entries.isEmpty() && pageable.getOffset() == 0) {
+            return Page.empty(pageable);
+        }
+        // The total comes from the user's counter, and only when the page itself cannot tell
+        long total = PageableExecutionUtils.getPage(entries, pageable,
+                () -> userRepository.findWishlistItemCount(userId).orElse(0)).getTotalElements();
+        return new PageImpl<>(toItemViews(entries), pageable, total);
+    }
+
+    //  Keyset page of a user's wishlist; latency does not grow with the scroll depth
+    public WishlistScrollPage scrollWishlistItems(Integer userId, String cursor, int size) {
+        logger.debug("Scrolling wishlist items for userId: {}", userId);
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must not be less than one");
+        }
+        Limit limit = Limit.of(size + 1);
+        List<WishlistEntry> entries;
+        if (cursor == null || cursor.isBlank()) {
+            entries = wishlistRepository.findFirstEntries(userId, limit);
+        } else {
+            WishlistCursor position = WishlistCursor.decode(cursor);
+            entries = wishlistRepository.findEntriesAfter(userId, position.createdDateValue(), position.wishlistId(), limit);
+        }
+        List<WishlistItemView> rows = toItemViews(entries);
+
+        // One extra row is fetched to know whether another page exists
+        if (rows.size() <= size) {
+            return new WishlistScrollPage(rows, null);
+        }
+        List<WishlistItemView> items = rows.subList(0, size);
+        return new WishlistScrollPage(List.copyOf(items), WishlistCursor.after(items.get(size - 1)).encode());
+    }
 
-        Product product = productRepository.findById(productId)
+    //  Fills in product fields from the near-cache; rows whose product is gone are skipped
+    private List<WishlistItemView> toItemViews(List<WishlistEntry> entries) {
+        Map<Integer, ProductSnapshot> products = productCache.getAll(
+                entries.stream().map(WishlistEntry::productId).toList());
+        List<WishlistItemView> items = new ArrayList<>(entries.size());
+        for (WishlistEntry entry : entries) {
+            ProductSnapshot product = products.get(entry.productId());
+            if (product != null) {
+                items.add(entry.toItemView(product));
+            }
+        }
+        return items;
+    }
+
+    //  Hands every item of a user's wishlist to the action, in (createdDate, id) order,
+    //  without holding more than one fetch batch in memory
+    @Transactional(readOnly = true)
+    public long forEachWishlistItem(Integer userId, Consumer<WishlistItemView> action) {
+        logger.debug("Exporting wishlist for userId: {}", userId);
+        long count = 0;
+        try (Stream<WishlistItemView> items = wishlistRepository.streamItemViewsByUserId(userId)) {
+            Iterator<WishlistItemView> iterator = items.iterator();
+            while (iterator.hasNext()) {
+                action.accept(iterator.next());
+                count++;
+            }
+        }
+        logger.debug("Exported {} wishlist items for userId: {}", count, userId);
+        return count;
+    }
+
+    // Evicting by user id drops every cached page of that user. Adding a product that is
+    // already there returns the existing item, so a retried add is harmless
+    @CacheEvict(value = CacheConfig.WISHLIST_CACHE, key = "#userId")
+    public WishlistAddResult addToWishlist(Integer userId, Integer productId) {
+        logger.debug("Attempting to add productId: {} to wishlist for userId: {}", productId, userId);
+
+        if (writeBehind != null) {
+            return acceptAdd(userId, productId);
+        }
+
+        // Stock check and insert run as one statement; the unique (user_id, product_id)
+        // index makes concurrent duplicate adds a no-op instead of a second row
+        Optional<WishlistItemView> inserted;
+        try {
+            inserted = wishlistRepository.insertIfAbsent(userId, productId, new Date());
+        } catch (DataIntegrityViolationException ex) {
+            // Only the foreign key to users means a missing user; anything else is a real error
+            if (!violates(ex, WishList.USER_FOREIGN_KEY)) {
+                throw ex;
+            }
+            logger.debug("User not found with ID: {}", userId);
+            throw new UserNotFoundException("User not found with ID: " + userId);
+        }
+
+        if (inserted.isPresent()) {
+            eventPublisher.publishEvent(WishlistChangedEvent.added(userId, List.of(productId)));
+            logger.debug("Successfully added productId: {} to wishlist for userId: {}", productId, userId);
+            return WishlistAddResult.added(inserted.get());
+        }
+
+        // Nothing was inserted: work out why, off the hot path. The cached stock may be
+        // stale, so the product is reloaded before deciding
+        productCache.invalidate(productId);
+        ProductSnapshot product = requireProductInStock(productId);
+
+        // Missing here when the row was removed, or the stock changed, since the insert
+        WishList existing = wishlistRepository.findByUserIdAndProductId(userId, productId)
+                .orElseThrow(() -> new DuplicateWishlistItemException("Wishlist was modified concurrently, please retry"));
+        logger.debug("Product ID {} already exists in wishlist for userId: {}", productId, userId);
+        return WishlistAddResult.existing(
+                new WishlistEntry(existing.getId(), productId, existing.getCreatedDate()).toItemView(product));
+    }
+
+    //  Write-behind add: validated now, written by the flusher. The returned item has no id yet,
+    //  nor does an existing one whose add is still queued
+    private WishlistAddResult acceptAdd(Integer userId, Integer productId) {
+        if (!userRepository.existsById(userId)) {
+            logger.debug("User not found with ID: {}", userId);
+            throw new UserNotFoundException("User not found with ID: " + userId);
+        }
+        ProductSnapshot product = requireProductInStock(productId);
+        if (isInWishlist(userId, productId)) {
+            logger.debug("Product ID {} already exists in wishlist for userId: {}", productId, userId);
+            WishlistEntry existing = wishlistRepository.findByUserIdAndProductId(userId, productId)
+                    .map(item -> new WishlistEntry(item.getId(), productId, item.getCreatedDate()))
+                    .orElseGet(() -> new WishlistEntry(null, productId, null));
+            return WishlistAddResult.existing(existing.toItemView(product));
+        }
+
+        WishlistMutation mutation = writeBehind.enqueue(WishlistMutation.Type.ADD, userId, productId);
+        logger.debug("Queued productId: {} for wishlist of userId: {}", productId, userId);
+        return WishlistAddResult.added(
+                new WishlistEntry(null, productId, Date.from(mutation.acceptedAt())).toItemView(product));
+    }
+
+    //  Whether the violated constraint is the named one: from the Postgres error fields,
+    //  otherwise from the driver's message, which names the constraint on H2 as well
+    static boolean violates(DataIntegrityViolationException ex, String constraint) {
+        Throwable cause = ex.getMostSpecificCause();
+        if (cause instanceof PSQLException psql && psql.getServerErrorMessage() != null
+                && psql.getServerErrorMessage().getConstraint() != null) {
+            return constraint.equalsIgnoreCase(psql.getServerErrorMessage().getConstraint());
+        }
+        return cause.getMessage() != null
+                && cause.getMessage().toLowerCase(Locale.ROOT).contains(constraint.toLowerCase(Locale.ROOT));
+    }
+
+    //  Product from the near-cache, or the reason it cannot be added
+    private ProductSnapshot requireProductInStock(Integer productId) {
+        ProductSnapshot product = productCache.get(productId)
                 .orElseThrow(() -> {
-                    logger.error("Product not found with ID: {}", productId);
+                    logger.debug("Product not found with ID: {}", productId);
                     return new ProductNotFoundException("Product not found with ID: " + productId);
                 });
-
-        if (product.getStock() <= 0) {
-            logger.warn("Product ID {} is out of stock", productId);
+        if (!product.inStock()) {
+            logger.debug("Product ID {} is out of stock", productId);
             throw new ProductOutOfStockException("Product ID " + productId + " is out of stock");
         }
+        return product;
+    }
+
+    //  A queued change decides membership until it is written; otherwise the index does
+    private boolean isInWishlist(Integer userId, Integer productId) {
+        return writeBehind.pendingType(userId, productId)
+                .map(type -> type == WishlistMutation.Type.ADD)
+                .orElseGet(() -> membershipIndex.contains(userId, List.of(productId)).get(productId));
+    }
+
 
-        if (wishlistRepository.existsByUserAndProduct(user, product)) {
-            logger.warn("Product ID {} already exists in wishlist for userId: {}", productId, userId);
-            throw new DuplicateWishlistItemException("Product already exists in wishlist");
+    //  Add several products to a user's wishlist; inserts go out as one JDBC batch
+    @Transactional
+    @CacheEvict(value = CacheConfig.WISHLIST_CACHE, key = "#userId")
+    public List<BulkItemResult> addAllToWishlist(Integer userId, List<Integer> productIds) {
+        Set<Integer> requested = validateBulkRequest(productIds);
+        logger.debug("Attempting to add {} products to wishlist for userId: {}", requested.size(), userId);
+
+        if (!userRepository.existsById(userId)) {
+            logger.debug("User not found with ID: {}", userId);
+            throw new UserNotFoundException("User not found with ID: " + userId);
         }
 
-        WishList wishlist = new WishList();
-        wishlist.setUser(user);
-        wishlist.setProduct(product);
+        Map<Integer, ProductSnapshot> products = productCache.getAll(requested);
+        Set<Integer> existing = new HashSet<>(wishlistRepository.findProductIdsInWishlist(userId, requested));
 
-        WishList savedWishlist = wishlistRepository.save(wishlist);
-        logger.info("Successfully added productId: {} to wishlist for userId: {}", productId, userId);
+        User user = userRepository.getReferenceById(userId);
+        List<WishList> toInsert = new ArrayList<>();
+        List<BulkItemResult> results = new ArrayList<>(requested.size());
+        for (Integer productId : requested) {
+            ProductSnapshot product = products.get(productId);
+            BulkItemStatus status;
+            if (product == null) {
+                status = BulkItemStatus.PRODUCT_NOT_FOUND;
+            } else if (!product.inStock()) {
+                status = BulkItemStatus.OUT_OF_STOCK;
+            } else if (existing.contains(productId)) {
+                status = BulkItemStatus.ALREADY_IN_WISHLIST;
+            } else {
+                toInsert.add(new WishList(user, productRepository.getReferenceById(productId)));
+                status = BulkItemStatus.ADDED;
+            }
+            results.add(new BulkItemResult(productId, status));
+        }
 
-        return savedWishlist;
+        try {
+            wishlistRepository.saveAllAndFlush(toInsert);
+        } catch (DataIntegrityViolationException ex) {
+            logger.warn("Concurrent wishlist change while bulk adding for userId: {}", userId);
+            throw new DuplicateWishlistItemException("Wishlist was modified concurrently, please retry");
+        }
+        if (!toInsert.isEmpty()) {
+            List<Integer> added = toInsert.stream().map(item -> item.getProduct().getId()).toList();
+            adjustCounters(userId, added, 1);
+            recordEvents(userId, WishlistOutboxEvent.Type.ADDED, added);
+            eventPublisher.publishEvent(WishlistChangedEvent.added(userId, added));
+        }
+
+        logger.debug("Successfully added {} products to wishlist for userId: {}", toInsert.size(), userId);
+        return results;
     }
 
+    //  Remove several products from a user's wishlist with a single DELETE
+    @Transactional
+    @CacheEvict(value = CacheConfig.WISHLIST_CACHE, key = "#userId")
+    public List<BulkItemResult> removeAllFromWishlist(Integer userId, List<Integer> productIds) {
+        Set<Integer> requested = validateBulkRequest(productIds);
+        logger.debug("Attempting to remove {} products from wishlist for userId: {}", requested.size(), userId);
 
-    //  Remove Item from Wishlist
-    @CacheEvict(value = "wishlistCache", key = "#userId + '-*'")
-    public void removeFromWishlist(Integer userId, Integer productId) {
-        logger.info("Attempting to remove productId: {} from wishlist for userId: {}", productId, userId);
+        Set<Integer> existing = new HashSet<>(wishlistRepository.findProductIdsInWishlist(userId, requested));
+        int removed = existing.isEmpty() ? 0 : wishlistRepository.deleteByUserIdAndProductIds(userId, existing);
+        if (removed > 0) {
+            adjustCounters(userId, existing, -1);
+            recordEvents(userId, WishlistOutboxEvent.Type.REMOVED, existing);
+            eventPublisher.publishEvent(WishlistChangedEvent.removed(userId, existing));
+        }
 
-        WishList wishlist = wishlistRepository.findByUserIdAndProductId(userId, productId)
+        List<BulkItemResult> results = new ArrayList<>(requested.size());
+        for (Integer productId : requested) {
+            results.add(new BulkItemResult(productId,
+                    existing.contains(productId) ? BulkItemStatus.REMOVED : BulkItemStatus.NOT_IN_WISHLIST));
+        }
+
+        logger.debug("Successfully removed {} products from wishlist for userId: {}", removed, userId);
+        return results;
+    }
+
+    //  Which of the given products are in the user's wishlist, answered from the membership index
+    public Map<Integer, Boolean> containsProducts(Integer userId, List<Integer> productIds) {
+        Set<Integer> requested = validateBulkRequest(productIds);
+        Map<Integer, Boolean> membership = membershipIndex.contains(userId, requested);
+        if (writeBehind != null) {
+            membership.replaceAll((productId, member) -> writeBehind.pendingType(userId, productId)
+                    .map(type -> type == WishlistMutation.Type.ADD)
+                    .orElse(member));
+        }
+        return membership;
+    }
+
+    //  Counters move in the caller's transaction, together with the rows they count.
+    //  The user row is updated before the product rows, as in the single-statement write paths
+    private void adjustCounters(Integer userId, Collection<Integer> productIds, int delta) {
+        userRepository.adjustWishlistItemCount(userId, delta * productIds.size());
+        productRepository.adjustWishlistCount(productIds, delta);
+    }
+
+    //  Change events for the outbox, written with the rows; after the counters, as the
+    //  single-statement write paths do
+    private void recordEvents(Integer userId, WishlistOutboxEvent.Type type, Collection<Integer> productIds) {
+        if (outbox != null) {
+            outbox.append(userId, type, productIds, new Date());
+        }
+    }
+
+    //  Number of items in a user's wishlist, without a COUNT(*)
+    public UserWishlistCount countWishlistItems(Integer userId) {
+        int itemCount = userRepository.findWishlistItemCount(userId)
                 .orElseThrow(() -> {
-                    logger.warn("Wishlist item not found for productId: {} and userId: {}", productId, userId);
-                    return new WishlistNotFoundException("Wishlist item not found for product ID: " + productId);
+                    logger.debug("User not found with ID: {}", userId);
+                    return new UserNotFoundException("User not found with ID: " + userId);
                 });
+        return new UserWishlistCount(userId, itemCount);
+    }
+
+    //  Number of wishlists holding a product, without a COUNT(*)
+    public ProductWishlistCount countProductWishlists(Integer productId) {
+        int wishlistCount = productRepository.findWishlistCount(productId)
+                .orElseThrow(() -> {
+                    logger.debug("Product not found with ID: {}", productId);
+                    return new ProductNotFoundException("Product not found with ID: " + productId);
+                });
+        return new ProductWishlistCount(productId, wishlistCount);
+    }
+
+    //  Most wishlisted products of a window, from the in-memory leaderboard; window null means the default
+    public List<TrendingProduct> getTrendingProducts(String window, int limit) {
+        if (trending == null) {
+            throw new InvalidTrendingRequestException("Trending products are disabled");
+        }
+        if (limit < 1 || limit > trending.getMaxLimit()) {
+            throw new InvalidTrendingRequestException("Limit must be between 1 and " + trending.getMaxLimit());
+        }
+        String name = window == null || window.isBlank() ? trending.defaultWindow() : window;
+        List<SpaceSavingSketch.Estimate> top = trending.top(name, limit)
+                .orElseThrow(() -> new InvalidTrendingRequestException("Unknown trending window: " + name));
+
+        Map<Integer, ProductSnapshot> products = productCache.getAll(
+                top.stream().map(SpaceSavingSketch.Estimate::productId).toList());
+        List<TrendingProduct> trendingProducts = new ArrayList<>(top.size());
+        for (SpaceSavingSketch.Estimate estimate : top) {
+            ProductSnapshot product = products.get(estimate.productId());
+            if (product != null) {
+                trendingProducts.add(new TrendingProduct(product.id(), product.name(), estimate.count(), estimate.error()));
+            }
+        }
+        return trendingProducts;
+    }
+
+    private Set<Integer> validateBulkRequest(List<Integer> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            throw new InvalidBulkRequestException("At least one product ID is required");
+        }
+        if (productIds.size() > MAX_BULK_SIZE) {
+            throw new InvalidBulkRequestException("At most " + MAX_BULK_SIZE + " product IDs are allowed per request");
+        }
+        if (productIds.stream().anyMatch(Objects::isNull)) {
+            throw new InvalidBulkRequestException("Product IDs must not be null");
+        }
+        return new LinkedHashSet<>(productIds);
+    }
+
+    //  Remove Item from Wishlist
+    @Transactional
+    @CacheEvict(value = CacheConfig.WISHLIST_CACHE, key = "#userId")
+    public void removeFromWishlist(Integer userId, Integer productId) {
+        logger.debug("Attempting to remove productId: {} from wishlist for userId: {}", productId, userId);
+
+        if (writeBehind != null) {
+            if (!isInWishlist(userId, productId)) {
+                logger.debug("Wishlist item not found for productId: {} and userId: {}", productId, userId);
+                throw new WishlistNotFoundException("Wishlist item not found for product ID: " + productId);
+            }
+            writeBehind.enqueue(WishlistMutation.Type.REMOVE, userId, productId);
+            logger.debug("Queued removal of productId: {} from wishlist of userId: {}", productId, userId);
+            return;
+        }
+
+        // One DELETE; its row count tells whether the item was there
+        List<Integer> removed = List.of(productId);
+        if (wishlistRepository.deleteByUserIdAndProductIds(userId, removed) == 0) {
+            logger.debug("Wishlist item not found for productId: {} and userId: {}", productId, userId);
+            throw new WishlistNotFoundException("Wishlist item not found for product ID: " + productId);
+        }
 
-        wishlistRepository.delete(wishlist);
-        logger.info("Successfully removed productId: {} from wishlist for userId: {}", productId, userId);
+        adjustCounters(userId, removed, -1);
+        recordEvents(userId, WishlistOutboxEvent.Type.REMOVED, removed);
+        eventPublisher.publishEvent(WishlistChangedEvent.removed(userId, List.of(productId)));
+        logger.debug("Successfully removed productId: {} from wishlist for userId: {}", productId, userId);
     }
 }
\ No newline at end of file
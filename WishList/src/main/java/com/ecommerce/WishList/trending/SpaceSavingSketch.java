@@ -0,0 +1,151 @@
+package com.ecommerce.WishList.trending;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Space-Saving top-K sketch over exponentially decayed counts.
+ * <p>
+ * At most {@code capacity} products are tracked. A product that is not tracked takes
+ * over the counter with the lowest count and inherits that count as its error, so an
+ * estimate is never too low and never too high by more than its error.
+ * <p>
+ * Counts decay with the given half-life using forward decay: an update at time t is
+ * stored as weight * 2^((t - landmark) / halfLife), so the order of the counters does
+ * not change as time passes and nothing has to be touched until a query, which divides
+ * by the same factor for "now". Before the stored values grow too large the landmark
+ * is moved forward in one pass over the counters.
+ * <p>
+ * Not thread safe; callers synchronize.
+ */
+public final class SpaceSavingSketch {
+
+    // Rescale once stored values are 2^64 times their decayed value
+    private static final double MAX_EXPONENT = 64;
+
+    private static final Comparator<Counter> BY_COUNT =
+            Comparator.comparingDouble((Counter counter) -> counter.count).thenComparingInt(counter -> counter.productId);
+
+    private final int capacity;
+    private final double halfLifeMillis;
+    private final Map<Integer, Counter> counters = new HashMap<>();
+    private final TreeSet<Counter> byCount = new TreeSet<>(BY_COUNT);
+    private long landmark;
+
+    SpaceSavingSketch(int capacity, long halfLifeMillis, long now) {
+        if (capacity < 1 || halfLifeMillis < 1) {
+            throw new IllegalArgumentException("Capacity and half-life must be positive");
+        }
+        this.capacity = capacity;
+        this.halfLifeMillis = halfLifeMillis;
+        this.landmark = now;
+    }
+
+    void add(int productId, double weight, long now) {
+        double scaled = weight * scale(now);
+        Counter counter = counters.get(productId);
+        if (counter != null) {
+            update(counter, counter.count + scaled, counter.error);
+        } else if (counters.size() < capacity) {
+            track(new Counter(productId, scaled, 0));
+        } else {
+            Counter evicted = byCount.pollFirst();
+            counters.remove(evicted.productId);
+            track(new Counter(productId, evicted.count + scaled, evicted.count));
+        }
+    }
+
+    // Only tracked products can go down; an untracked one is already below every counter
+    void subtract(int productId, double weight, long now) {
+        double scaled = weight * scale(now);
+        Counter counter = counters.get(productId);
+        if (counter != null) {
+            double count = Math.max(0, counter.count - scaled);
+            update(counter, count, Math.min(counter.error, count));
+        }
+    }
+
+    // Highest decayed counts first
+    List<Estimate> top(int limit, long now) {
+        double scale = scale(now);
+        List<Estimate> top = new ArrayList<>(Math.min(limit, counters.size()));
+        Iterator<Counter> highest = byCount.descendingIterator();
+        while (top.size() < limit && highest.hasNext()) {
+            Counter counter = highest.next();
+            if (counter.count > 0) {
+                top.add(new Estimate(counter.productId, counter.count / scale, counter.error / scale));
+            }
+        }
+        return top;
+    }
+
+    // Replaces every counter with exact decayed counts as of now
+    void reset(Map<Integer, Double> counts, long now) {
+        counters.clear();
+        byCount.clear();
+        landmark = now;
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed())
+                .limit(capacity)
+                .forEach(entry -> track(new Counter(entry.getKey(), entry.getValue(), 0)));
+    }
+
+    int size() {
+        return counters.size();
+    }
+
+    private double scale(long now) {
+        double exponent = (now - landmark) / halfLifeMillis;
+        if (exponent > MAX_EXPONENT) {
+            rescale(now);
+            exponent = 0;
+        }
+        return Math.pow(2, exponent);
+    }
+
+    private void rescale(long now) {
+        double factor = Math.pow(2, (now - landmark) / halfLifeMillis);
+        List<Counter> all = new ArrayList<>(byCount);
+        byCount.clear();
+        for (Counter counter : all) {
+            counter.count /= factor;
+            counter.error /= factor;
+            byCount.add(counter);
+        }
+        landmark = now;
+    }
+
+    private void track(Counter counter) {
+        counters.put(counter.productId, counter);
+        byCount.add(counter);
+    }
+
+    // The tree is ordered by count, so a counter leaves it while its count changes
+    private void update(Counter counter, double count, double error) {
+        byCount.remove(counter);
+        counter.count = count;
+        counter.error = error;
+        byCount.add(counter);
+    }
+
+    public record Estimate(int productId, double count, double error) {
+    }
+
+    private static final class Counter {
+
+        private final int productId;
+        private double count;
+        private double error;
+
+        private Counter(int productId, double count, double error) {
+            this.productId = productId;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.ecommerce.WishList.trending;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "wishlist.trending")
+public class TrendingProperties {
+
+    // Keep the in-memory leaderboard and serve /wishlist/trending
+    private boolean enabled = true;
+
+    // Products tracked per window; only the top of this list is reliable, so keep it well above the largest limit
+    private int capacity = 1_000;
+
+    // Window name to half-life of its decayed counts; the first window is the default
+    private Map<String, Duration> windows = defaultWindows();
+
+    // How often the leaderboard is rebuilt from the wishlist table; the first rebuild runs on start
+    private Duration reconcileInterval = Duration.ofMinutes(15);
+
+    // Rows older than this many half-lives weigh under 1% and are left out of the rebuild
+    private int reconcileHalfLives = 7;
+
+    // Largest limit a caller may ask for
+    private int maxLimit = 100;
+
+    private static Map<String, Duration> defaultWindows() {
+        Map<String, Duration> windows = new LinkedHashMap<>();
+        windows.put("hour", Duration.ofHours(1));
+        windows.put("day", Duration.ofDays(1));
+        return windows;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public Map<String, Duration> getWindows() {
+        return windows;
+    }
+
+    public void setWindows(Map<String, Duration> windows) {
+        this.windows = windows;
+    }
+
+    public Duration getReconcileInterval() {
+        return reconcileInterval;
+    }
+
+    public void setReconcileInterval(Duration reconcileInterval) {
+        this.reconcileInterval = reconcileInterval;
+    }
+
+    public int getReconcileHalfLives() {
+        return reconcileHalfLives;
+    }
+
+    public void setReconcileHalfLives(int reconcileHalfLives) {
+        this.reconcileHalfLives = reconcileHalfLives;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+}
@@ -0,0 +1,141 @@
+package com.ecommerce.WishList.trending;
+
+import com.ecommerce.WishList.dto.ProductScore;
+import com.ecommerce.WishList.event.WishlistChangedEvent;
+import com.ecommerce.WishList.repository.WishlistRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Live "most wishlisted" leaderboard, one {@link SpaceSavingSketch} per configured window.
+ * <p>
+ * Committed adds count +1 and removes -1 in every window, from {@link WishlistChangedEvent}s,
+ * so reads never touch the database. Because the sketches are approximate and start empty,
+ * a background thread rebuilds them from the wishlist table on start and every reconcile
+ * interval: one grouped query per window over the rows young enough to still matter.
+ * Events that arrive while that query runs are lost to the rebuilt sketch; the next
+ * rebuild includes them.
+ */
+@Component
+@EnableConfigurationProperties(TrendingProperties.class)
+@ConditionalOnProperty(prefix = "wishlist.trending", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class WishlistTrending implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(WishlistTrending.class);
+
+    private final TrendingProperties properties;
+    private final WishlistRepository wishlistRepository;
+    private final Map<String, SpaceSavingSketch> sketches = new LinkedHashMap<>();
+    private final Timer reconcileTimer;
+
+    private ScheduledExecutorService reconciler;
+
+    public WishlistTrending(TrendingProperties properties, WishlistRepository wishlistRepository,
+                            MeterRegistry registry) {
+        if (properties.getWindows().isEmpty()) {
+            throw new IllegalArgumentException("At least one wishlist.trending.windows entry is required");
+        }
+        this.properties = properties;
+        this.wishlistRepository = wishlistRepository;
+        long now = System.currentTimeMillis();
+        properties.getWindows().forEach((window, halfLife) ->
+                sketches.put(window, new SpaceSavingSketch(properties.getCapacity(), halfLife.toMillis(), now)));
+        this.reconcileTimer = Timer.builder("wishlist.trending.reconcile").register(registry);
+    }
+
+    public int getMaxLimit() {
+        return properties.getMaxLimit();
+    }
+
+    public String defaultWindow() {
+        return sketches.keySet().iterator().next();
+    }
+
+    // Highest scores of the window first; empty when the window is not configured
+    public Optional<List<SpaceSavingSketch.Estimate>> top(String window, int limit) {
+        SpaceSavingSketch sketch = sketches.get(window);
+        if (sketch == null) {
+            return Optional.empty();
+        }
+        synchronized (sketch) {
+            return Optional.of(sketch.top(limit, System.currentTimeMillis()));
+        }
+    }
+
+    // Runs after commit, or straight away when published outside a transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWishlistChanged(WishlistChangedEvent event) {
+        long now = System.currentTimeMillis();
+        for (SpaceSavingSketch sketch : sketches.values()) {
+            synchronized (sketch) {
+                event.addedProductIds().forEach(productId -> sketch.add(productId, 1, now));
+                event.removedProductIds().forEach(productId -> sketch.subtract(productId, 1, now));
+            }
+        }
+    }
+
+    // Replaces every window with exact decayed counts from the database
+    public void reconcile() {
+        reconcileTimer.record(() -> properties.getWindows().forEach((window, halfLife) -> {
+            long now = System.currentTimeMillis();
+            Date since = new Date(now - halfLife.multipliedBy(properties.getReconcileHalfLives()).toMillis());
+            Map<Integer, Double> scores = wishlistRepository
+                    .findProductScores(since, new Date(now), halfLife, properties.getCapacity()).stream()
+                    .collect(Collectors.toMap(ProductScore::productId, ProductScore::score));
+            SpaceSavingSketch sketch = sketches.get(window);
+            synchronized (sketch) {
+                sketch.reset(scores, now);
+            }
+        }));
+    }
+
+    @Override
+    public void start() {
+        reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "wishlist-trending");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getReconcileInterval().toMillis();
+        reconciler.scheduleWithFixedDelay(this::reconcileSafely, 0, interval, TimeUnit.MILLISECONDS);
+        logger.info("Trending leaderboard enabled for windows {}", properties.getWindows());
+    }
+
+    @Override
+    public void stop() {
+        if (reconciler != null) {
+            reconciler.shutdownNow();
+            reconciler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return reconciler != null;
+    }
+
+    private void reconcileSafely() {
+        try {
+            reconcile();
+        } catch (RuntimeException ex) {
+            logger.warn("Trending leaderboard reconcile failed, retrying in {}", properties.getReconcileInterval(), ex);
+        }
+    }
+}
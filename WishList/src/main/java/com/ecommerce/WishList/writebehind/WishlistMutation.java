@@ -0,0 +1,22 @@
+package com.ecommerce.WishList.writebehind;
+
+import java.time.Instant;
+
+/**
+ * One accepted, not yet persisted, wishlist change. Sequence numbers are assigned in
+ * acceptance order and are also the journal position of the mutation.
+ */
+public record WishlistMutation(long sequence, Type type, Integer userId, Integer productId, Instant acceptedAt) {
+
+    public enum Type {
+        ADD, REMOVE
+    }
+
+    Key key() {
+        return new Key(userId, productId);
+    }
+
+    // Mutations for the same pair coalesce; only the latest one is written
+    record Key(Integer userId, Integer productId) {
+    }
+}
@@ -0,0 +1,258 @@
+package com.ecommerce.WishList.writebehind;
+
+import com.ecommerce.WishList.config.CacheConfig;
+import com.ecommerce.WishList.event.WishlistChangedEvent;
+import com.ecommerce.WishList.repository.WishlistRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional write-behind mode for single wishlist adds and removes.
+ * <p>
+ * The service validates a change, hands it to {@link #enqueue} and answers straight
+ * away. A single flusher thread drains the queue every flush interval and writes each
+ * batch in one transaction: JDBC batches of insert-if-absent and delete statements.
+ * Once a batch commits, the journal checkpoint moves forward, the users' cached pages
+ * are evicted and a {@link WishlistChangedEvent} is published for every user in it.
+ * A batch that fails on a database error is retried as a whole on the next run; rows
+ * that violate a constraint are written one by one and the offending ones dropped.
+ * <p>
+ * Until then {@link #pendingType} answers membership for queued and in-flight changes.
+ * Wishlist pages do not overlay them: a change shows up in the pages once it is written,
+ * about one flush interval later.
+ */
+@Component
+@EnableConfigurationProperties(WriteBehindProperties.class)
+@ConditionalOnProperty(prefix = "wishlist.write-behind", name = "enabled", havingValue = "true")
+public class WishlistWriteBehind implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(WishlistWriteBehind.class);
+
+    private final WriteBehindProperties properties;
+    private final WishlistRepository wishlistRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WriteBehindJournal journal;
+    private final WriteBehindBuffer buffer;
+
+    private final Timer flushTimer;
+    private final Counter written;
+    private final Counter dropped;
+
+    private ScheduledExecutorService flusher;
+    // Batch taken from the buffer but not committed yet, retried before anything new
+    private volatile List<WishlistMutation> inFlight = List.of();
+
+    public WishlistWriteBehind(WriteBehindProperties properties, WishlistRepository wishlistRepository,
+                               TransactionTemplate transactionTemplate, CacheManager cacheManager,
+                               ApplicationEventPublisher eventPublisher, MeterRegistry registry) throws IOException {
+        this.properties = properties;
+        this.wishlistRepository = wishlistRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.journal = new WriteBehindJournal(properties.getJournalDir(), properties.getJournalSegmentSize(),
+                properties.isJournalFsync());
+        this.buffer = new WriteBehindBuffer(properties.getCapacity(), properties.getOfferTimeout(), journal);
+
+        this.flushTimer = Timer.builder("wishlist.writebehind.flush").register(registry);
+        this.written = Counter.builder("wishlist.writebehind.written").register(registry);
+        this.dropped = Counter.builder("wishlist.writebehind.dropped").register(registry);
+        Gauge.builder("wishlist.writebehind.queue.depth", buffer, WriteBehindBuffer::size).register(registry);
+        Gauge.builder("wishlist.writebehind.lag", this, behind -> behind.lag().toMillis() / 1000.0)
+                .baseUnit("seconds")
+                .description("Age of the oldest change not yet written to the database")
+                .register(registry);
+        FunctionCounter.builder("wishlist.writebehind.coalesced", buffer, WriteBehindBuffer::coalescedCount)
+                .register(registry);
+    }
+
+    public WishlistMutation enqueue(WishlistMutation.Type type, Integer userId, Integer productId) {
+        return buffer.offer(type, userId, productId);
+    }
+
+    public Optional<WishlistMutation.Type> pendingType(Integer userId, Integer productId) {
+        return buffer.pendingType(userId, productId);
+    }
+
+    public Duration lag() {
+        Instant oldest = buffer.oldestAcceptedAt();
+        if (!inFlight.isEmpty()) {
+            oldest = inFlight.get(0).acceptedAt();
+        }
+        return oldest == null ? Duration.ZERO : Duration.between(oldest, Instant.now());
+    }
+
+    @Override
+    public void start() {
+        try {
+            List<WishlistMutation> recovered = journal.recover();
+            if (!recovered.isEmpty()) {
+                logger.warn("Replaying {} wishlist changes from the write-behind journal", recovered.size());
+            }
+            buffer.restore(recovered);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read the write-behind journal", ex);
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "wishlist-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getFlushInterval().toMillis();
+        flusher.scheduleWithFixedDelay(this::flushSafely, interval, interval, TimeUnit.MILLISECONDS);
+        logger.info("Write-behind enabled, journal in {}", properties.getJournalDir().toAbsolutePath());
+    }
+
+    @Override
+    public void stop() {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(30, TimeUnit.SECONDS);
+            // Write what is left; anything that fails stays in the journal for the next start
+            while (flushOnce()) {
+                // keep draining
+            }
+            journal.close();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException | IOException ex) {
+            logger.error("Write-behind queue not fully written on shutdown, it will be replayed on start", ex);
+        }
+        flusher = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return flusher != null;
+    }
+
+    // Below the web server's phase (DEFAULT_PHASE - 2048): the journal is replayed before
+    // traffic is accepted, and the queue is drained only after the server has stopped
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void flushSafely() {
+        try {
+            while (flushOnce()) {
+                // drain in batches until the queue is empty
+            }
+        } catch (RuntimeException ex) {
+            logger.error("Write-behind flush failed, retrying in {}", properties.getFlushInterval(), ex);
+        }
+    }
+
+    // Writes one batch, returns false when there was nothing to write
+    boolean flushOnce() {
+        if (inFlight.isEmpty()) {
+            inFlight = buffer.drain(properties.getBatchSize());
+            if (inFlight.isEmpty()) {
+                return false;
+            }
+        }
+        List<WishlistMutation> batch = inFlight;
+        List<WishlistMutation> applied = flushTimer.record(() -> write(batch));
+        inFlight = List.of();
+
+        try {
+            journal.checkpoint(buffer.oldestPendingSequence() - 1);
+        } catch (IOException ex) {
+            logger.warn("Could not move the write-behind checkpoint, changes may be replayed twice", ex);
+        }
+        written.increment(applied.size());
+        publish(applied);
+        // Only now that the caches have been told can membership be read from them again
+        buffer.complete(batch);
+        return true;
+    }
+
+    private List<WishlistMutation> write(List<WishlistMutation> batch) {
+        try {
+            return transactionTemplate.execute(status -> apply(batch));
+        } catch (DataIntegrityViolationException ex) {
+            logger.warn("Write-behind batch of {} rejected, writing rows one by one", batch.size());
+        }
+        List<WishlistMutation> applied = new ArrayList<>();
+        for (WishlistMutation mutation : batch) {
+            try {
+                applied.addAll(transactionTemplate.execute(status -> apply(List.of(mutation))));
+            } catch (DataIntegrityViolationException ex) {
+                logger.warn("Dropping wishlist change {} for userId: {} productId: {}: {}",
+                        mutation.type(), mutation.userId(), mutation.productId(), ex.getMostSpecificCause().getMessage());
+                dropped.increment();
+            }
+        }
+        return applied;
+    }
+
+    // Mutations whose statement changed a row (or may have, when the driver does not say)
+    private List<WishlistMutation> apply(List<WishlistMutation> batch) {
+        List<WishlistMutation> adds = new ArrayList<>();
+        List<WishlistMutation> removes = new ArrayList<>();
+        batch.forEach(mutation -> (mutation.type() == WishlistMutation.Type.ADD ? adds : removes).add(mutation));
+
+        List<WishlistMutation> applied = new ArrayList<>(batch.size());
+        collectApplied(adds, adds.isEmpty() ? new int[0] : wishlistRepository.insertAllIfAbsent(adds), applied);
+        collectApplied(removes, removes.isEmpty() ? new int[0] : wishlistRepository.deleteAll(removes), applied);
+        return applied;
+    }
+
+    private static void collectApplied(List<WishlistMutation> mutations, int[] counts, List<WishlistMutation> applied) {
+        for (int i = 0; i < mutations.size(); i++) {
+            if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                applied.add(mutations.get(i));
+            }
+        }
+    }
+
+    private void publish(List<WishlistMutation> applied) {
+        Map<Integer, List<WishlistMutation>> byUser = new LinkedHashMap<>();
+        applied.forEach(mutation -> byUser.computeIfAbsent(mutation.userId(), userId -> new ArrayList<>()).add(mutation));
+
+        Cache cache = cacheManager.getCache(CacheConfig.WISHLIST_CACHE);
+        byUser.forEach((userId, mutations) -> {
+            if (cache != null) {
+                cache.evict(userId);
+            }
+            List<Integer> added = new ArrayList<>();
+            List<Integer> removed = new ArrayList<>();
+            mutations.forEach(mutation ->
+                    (mutation.type() == WishlistMutation.Type.ADD ? added : removed).add(mutation.productId()));
+            eventPublisher.publishEvent(new WishlistChangedEvent(userId, added, removed));
+        });
+    }
+}
@@ -0,0 +1,179 @@
+package com.ecommerce.WishList.writebehind;
+
+import com.ecommerce.WishList.Exception.WriteBehindQueueFullException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded queue of pending mutations that keeps only the latest one per (user, product).
+ * <p>
+ * Entries stay in sequence order: a newer mutation for a pair replaces the older one and
+ * moves to the tail, so the head always holds the oldest sequence still pending. When
+ * the queue is full, callers wait up to the offer timeout and are then rejected.
+ * Every accepted mutation is journaled before it becomes visible to the flusher.
+ * <p>
+ * Drained mutations stay visible to {@link #pendingType} as in flight until the flusher
+ * calls {@link #complete}, so membership stays right while a batch is written or retried.
+ */
+public class WriteBehindBuffer {
+
+    private final int capacity;
+    private final long offerTimeoutNanos;
+    private final WriteBehindJournal journal;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final LinkedHashMap<WishlistMutation.Key, WishlistMutation> pending = new LinkedHashMap<>();
+    // Drained but not yet written; pending entries for the same pair are newer
+    private final Map<WishlistMutation.Key, WishlistMutation> inFlight = new HashMap<>();
+
+    private long sequence;
+    private long coalesced;
+
+    public WriteBehindBuffer(int capacity, Duration offerTimeout, WriteBehindJournal journal) {
+        this.capacity = capacity;
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        this.journal = journal;
+        this.sequence = journal.lastSequence();
+    }
+
+    public WishlistMutation offer(WishlistMutation.Type type, Integer userId, Integer productId) {
+        WishlistMutation.Key key = new WishlistMutation.Key(userId, productId);
+        long nanos = offerTimeoutNanos;
+        lock.lock();
+        try {
+            // Replacing a pending pair needs no room
+            while (pending.size() >= capacity && !pending.containsKey(key)) {
+                if (nanos <= 0) {
+                    throw new WriteBehindQueueFullException("Too many pending wishlist changes, please retry");
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            WishlistMutation mutation = new WishlistMutation(++sequence, type, userId, productId, Instant.now());
+            journal.append(mutation);
+            put(mutation);
+            return mutation;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new WriteBehindQueueFullException("Interrupted while waiting for the wishlist queue");
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not journal wishlist change", ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Replayed mutations already have a journal entry and a sequence; numbering continues after the journal
+    public void restore(List<WishlistMutation> mutations) {
+        lock.lock();
+        try {
+            mutations.forEach(this::put);
+            sequence = Math.max(sequence, journal.lastSequence());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Moves up to max mutations from the head of the queue to in flight
+    public List<WishlistMutation> drain(int max) {
+        lock.lock();
+        try {
+            List<WishlistMutation> batch = new ArrayList<>(Math.min(max, pending.size()));
+            Iterator<WishlistMutation> iterator = pending.values().iterator();
+            while (iterator.hasNext() && batch.size() < max) {
+                WishlistMutation mutation = iterator.next();
+                batch.add(mutation);
+                inFlight.put(mutation.key(), mutation);
+                iterator.remove();
+            }
+            if (!batch.isEmpty()) {
+                notFull.signalAll();
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Drained mutations that were written, or given up on; a newer one for the same pair stays in flight
+    public void complete(List<WishlistMutation> batch) {
+        lock.lock();
+        try {
+            batch.forEach(mutation -> inFlight.remove(mutation.key(), mutation));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // The latest unwritten mutation for a pair, queued or in flight; it decides membership until it is written
+    public Optional<WishlistMutation.Type> pendingType(Integer userId, Integer productId) {
+        WishlistMutation.Key key = new WishlistMutation.Key(userId, productId);
+        lock.lock();
+        try {
+            WishlistMutation mutation = pending.get(key);
+            if (mutation == null) {
+                mutation = inFlight.get(key);
+            }
+            return mutation == null ? Optional.empty() : Optional.of(mutation.type());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Sequence below which nothing is pending any more
+    public long oldestPendingSequence() {
+        lock.lock();
+        try {
+            return pending.isEmpty() ? sequence + 1 : pending.values().iterator().next().sequence();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Instant oldestAcceptedAt() {
+        lock.lock();
+        try {
+            return pending.isEmpty() ? null : pending.values().iterator().next().acceptedAt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long coalescedCount() {
+        lock.lock();
+        try {
+            return coalesced;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void put(WishlistMutation mutation) {
+        if (pending.remove(mutation.key()) != null) {
+            coalesced++;
+        }
+        pending.put(mutation.key(), mutation);
+    }
+}
@@ -0,0 +1,159 @@
+package com.ecommerce.WishList.writebehind;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Append-only local journal of accepted mutations, so a crash between accepting a
+ * change and writing it to the database does not lose it.
+ * <p>
+ * Entries go to segment files named after their first sequence number. The flusher
+ * records the highest sequence known to be in the database as a checkpoint; segments
+ * entirely below it are deleted, and on startup everything after it is replayed.
+ * A torn last line from a crash mid-append is skipped.
+ */
+public class WriteBehindJournal implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindJournal.class);
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT = "checkpoint";
+
+    private final Path dir;
+    private final int segmentSize;
+    private final boolean fsync;
+
+    private FileChannel segment;
+    private int segmentEntries;
+    private long checkpoint;
+    private long lastSequence;
+
+    public WriteBehindJournal(Path dir, int segmentSize, boolean fsync) throws IOException {
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+        Files.createDirectories(dir);
+        Path checkpointFile = dir.resolve(CHECKPOINT);
+        if (Files.exists(checkpointFile)) {
+            checkpoint = Long.parseLong(Files.readString(checkpointFile).trim());
+        }
+        lastSequence = checkpoint;
+    }
+
+    // Mutations accepted after the last checkpoint, in sequence order
+    public synchronized List<WishlistMutation> recover() throws IOException {
+        List<WishlistMutation> pending = new ArrayList<>();
+        for (Path file : segments()) {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                WishlistMutation mutation = parse(line);
+                if (mutation == null) {
+                    logger.warn("Skipping unreadable journal entry in {}: {}", file.getFileName(), line);
+                    continue;
+                }
+                lastSequence = Math.max(lastSequence, mutation.sequence());
+                if (mutation.sequence() > checkpoint) {
+                    pending.add(mutation);
+                }
+            }
+        }
+        return pending;
+    }
+
+    // Highest sequence seen in the journal, new mutations continue after it
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    public synchronized void append(WishlistMutation mutation) throws IOException {
+        if (segment == null || segmentEntries >= segmentSize) {
+            roll(mutation.sequence());
+        }
+        String line = mutation.sequence() + " " + mutation.type() + " " + mutation.userId() + " "
+                + mutation.productId() + " " + mutation.acceptedAt().toEpochMilli() + "\n";
+        ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            segment.write(buffer);
+        }
+        if (fsync) {
+            segment.force(false);
+        }
+        segmentEntries++;
+        lastSequence = mutation.sequence();
+    }
+
+    // Everything up to and including the sequence is in the database
+    public synchronized void checkpoint(long sequence) throws IOException {
+        if (sequence <= checkpoint) {
+            return;
+        }
+        Path tmp = dir.resolve(CHECKPOINT + ".tmp");
+        Files.writeString(tmp, Long.toString(sequence));
+        Files.move(tmp, dir.resolve(CHECKPOINT), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        checkpoint = sequence;
+
+        // A segment can go once the next one starts at or below the checkpoint + 1
+        List<Path> segments = segments();
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            if (firstSequence(segments.get(i + 1)) - 1 <= checkpoint) {
+                Files.deleteIfExists(segments.get(i));
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (segment != null) {
+            segment.force(false);
+            segment.close();
+            segment = null;
+        }
+    }
+
+    private void roll(long firstSequence) throws IOException {
+        close();
+        Path file = dir.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        segment = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segmentEntries = 0;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static WishlistMutation parse(String line) {
+        String[] fields = line.split(" ");
+        if (fields.length != 5) {
+            return null;
+        }
+        try {
+            return new WishlistMutation(Long.parseLong(fields[0]), WishlistMutation.Type.valueOf(fields[1]),
+                    Integer.valueOf(fields[2]), Integer.valueOf(fields[3]), Instant.ofEpochMilli(Long.parseLong(fields[4])));
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.ecommerce.WishList.writebehind;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "wishlist.write-behind")
+public class WriteBehindProperties {
+
+    // Accept single adds/removes into a queue and persist them in batches
+    private boolean enabled = false;
+
+    // Distinct (user, product) pairs waiting to be written
+    private int capacity = 10_000;
+
+    // Mutations written per flush transaction
+    private int batchSize = 500;
+
+    private Duration flushInterval = Duration.ofMillis(100);
+
+    // How long a request waits for room in a full queue before it is rejected
+    private Duration offerTimeout = Duration.ofMillis(50);
+
+    private Path journalDir = Path.of("journal");
+
+    // Entries per journal segment file
+    private int journalSegmentSize = 10_000;
+
+    // Force every journal append to disk; without it a process crash is covered but a power loss is not
+    private boolean journalFsync = false;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public Duration getOfferTimeout() {
+        return offerTimeout;
+    }
+
+    public void setOfferTimeout(Duration offerTimeout) {
+        this.offerTimeout = offerTimeout;
+    }
+
+    public Path getJournalDir() {
+        return journalDir;
+    }
+
+    public void setJournalDir(Path journalDir) {
+        this.journalDir = journalDir;
+    }
+
+    public int getJournalSegmentSize() {
+        return journalSegmentSize;
+    }
+
+    public void setJournalSegmentSize(int journalSegmentSize) {
+        this.journalSegmentSize = journalSegmentSize;
+    }
+
+    public boolean isJournalFsync() {
+        return journalFsync;
+    }
+
+    public void setJournalFsync(boolean journalFsync) {
+        this.journalFsync = journalFsync;
+    }
+}
@@ -0,0 +1,32 @@
+-- Tables as Hibernate's ddl-auto=update created them before migrations were versioned.
+-- IF NOT EXISTS lets databases created that way be baselined at version 0 and run
+-- every migration; later versions are written to be no-ops where the former
+-- db/scripts were already applied by hand. Constraint names match the ones Hibernate
+-- generated, so both kinds of database end up with the same schema.
+CREATE TABLE IF NOT EXISTS users (
+    id         INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    first_name VARCHAR(255) NOT NULL,
+    last_name  VARCHAR(255),
+    email      VARCHAR(255) NOT NULL,
+    CONSTRAINT users_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS products (
+    id          INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    name        VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    price       DOUBLE PRECISION NOT NULL,
+    stock       INTEGER NOT NULL,
+    CONSTRAINT products_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS wishlist (
+    id           INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    user_id      INTEGER NOT NULL,
+    product_id   INTEGER NOT NULL,
+    created_date TIMESTAMP(6),
+    CONSTRAINT wishlist_pkey PRIMARY KEY (id),
+    CONSTRAINT fktrd6335blsefl2gxpb8lr0gr7 FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk6p7qhvy1bfkri13u29x6pu8au FOREIGN KEY (product_id) REFERENCES products (id)
+);
@@ -0,0 +1,17 @@
+-- Removes duplicate (user_id, product_id) rows left by the old check-then-insert
+-- path, keeping the oldest row, then adds the unique constraint used by
+-- INSERT ... ON CONFLICT in WishlistRepositoryImpl. Also serves the
+-- (user_id, product_id) lookups: exists, contains and remove.
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_wishlist_user_product') THEN
+        DELETE FROM wishlist w
+        USING wishlist older
+        WHERE w.user_id = older.user_id
+          AND w.product_id = older.product_id
+          AND w.id > older.id;
+
+        ALTER TABLE wishlist
+            ADD CONSTRAINT uk_wishlist_user_product UNIQUE (user_id, product_id);
+    END IF;
+END $$;
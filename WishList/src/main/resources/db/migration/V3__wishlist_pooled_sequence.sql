@@ -0,0 +1,16 @@
+-- Moves wishlist.id from an IDENTITY column to the pooled-lo sequence used by
+-- WishlistIdGenerator and WishlistIdAllocator. INCREMENT BY must equal
+-- wishlist.id.allocation-size; change both together.
+-- Skipped when the sequence exists: moving it back could hand out ids of a block
+-- a running instance still holds.
+DO $$
+BEGIN
+    IF to_regclass('wishlist_seq') IS NULL THEN
+        ALTER TABLE wishlist ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+        CREATE SEQUENCE wishlist_seq START WITH 1 INCREMENT BY 50;
+
+        -- The next block starts right after the highest existing id
+        PERFORM setval('wishlist_seq', COALESCE((SELECT MAX(id) FROM wishlist), 0) + 1, false);
+    END IF;
+END $$;
@@ -0,0 +1,19 @@
+-- Adds the counters kept up to date by the wishlist write paths: items per user and
+-- wishlists per product. The two UPDATEs backfill them and can be rerun at any time
+-- to repair counters that drifted, e.g. after rows were deleted outside the service.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS wishlist_item_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE products ADD COLUMN IF NOT EXISTS wishlist_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE users u
+SET wishlist_item_count = c.total
+FROM (SELECT u2.id, COUNT(w.id) AS total
+      FROM users u2 LEFT JOIN wishlist w ON w.user_id = u2.id
+      GROUP BY u2.id) c
+WHERE u.id = c.id AND u.wishlist_item_count <> c.total;
+
+UPDATE products p
+SET wishlist_count = c.total
+FROM (SELECT p2.id, COUNT(w.id) AS total
+      FROM products p2 LEFT JOIN wishlist w ON w.product_id = p2.id
+      GROUP BY p2.id) c
+WHERE p.id = c.id AND p.wishlist_count <> c.total;
@@ -0,0 +1,5 @@
+-- Index for the trending leaderboard rebuild in WishlistTrending, which groups the
+-- recent rows by product. Built CONCURRENTLY so adds are not blocked; Flyway runs
+-- this migration outside a transaction.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_wishlist_created_product
+    ON wishlist (created_date, product_id);
@@ -0,0 +1,15 @@
+-- Indexes for the remaining wishlist queries. Built CONCURRENTLY so adds are not
+-- blocked; Flyway runs this migration outside a transaction.
+--
+-- Pages and keyset scans of one user filter on user_id and order by (created_date, id);
+-- with product_id included they read the page from the index alone.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_wishlist_user_created_covering
+    ON wishlist (user_id, created_date, id) INCLUDE (product_id);
+
+-- Superseded by the covering index; created by ddl-auto=update on older databases
+DROP INDEX CONCURRENTLY IF EXISTS idx_wishlist_user_created_id;
+
+-- Serves the foreign key to products: deleting a product and recounting its
+-- wishlists no longer scan the whole table
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_wishlist_product_user
+    ON wishlist (product_id, user_id);
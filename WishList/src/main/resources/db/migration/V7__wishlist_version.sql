@@ -0,0 +1,3 @@
+-- Per-user wishlist version, bumped by every statement that moves wishlist_item_count.
+-- Served as the ETag of the wishlist pages, so it only has to change when the rows do.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS wishlist_version BIGINT NOT NULL DEFAULT 0;
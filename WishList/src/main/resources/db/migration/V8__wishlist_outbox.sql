@@ -0,0 +1,15 @@
+-- Change events of the wishlist, written by the statements that add and remove rows and
+-- in their transaction. The outbox relay publishes them in id order and deletes them
+-- once the sink has them, so the table only holds events not yet delivered.
+-- No foreign keys: an event outlives the user or product it is about.
+CREATE TABLE IF NOT EXISTS wishlist_outbox (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id     INTEGER     NOT NULL,
+    product_id  INTEGER     NOT NULL,
+    event_type  VARCHAR(16) NOT NULL,
+    occurred_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT wishlist_outbox_pkey PRIMARY KEY (id)
+);
+
+-- Serves the relay's check for older events of the same user held by another instance
+CREATE INDEX IF NOT EXISTS idx_wishlist_outbox_user_id ON wishlist_outbox (user_id, id);
@@ -0,0 +1,69 @@
+-- Optional, run by hand on a schema migrated to V6 (db/migration); Flyway does not
+-- run it, as it rewrites the whole table.
+--
+-- Rebuilds wishlist as a table hash partitioned on user_id. Every per-user query and
+-- write already filters on user_id, so it is pruned to a single partition, and vacuum
+-- and index maintenance work on one partition at a time.
+--
+-- The primary key becomes (user_id, id), because unique constraints on a partitioned
+-- table must include the partition key; ids still come from wishlist_seq and stay unique.
+-- The indexes are declared on the parent and created in every partition.
+--
+-- Hash partitions cannot be split later without rewriting the table, so the partition
+-- count is set for the expected size: 16 partitions keep 100M rows at about 6M each.
+--
+-- Writes to wishlist are blocked until COMMIT while the rows are copied, so run it in
+-- a maintenance window. The old table is kept as wishlist_unpartitioned; drop it once
+-- the new one is verified.
+BEGIN;
+
+DO $$
+BEGIN
+    IF (SELECT relkind FROM pg_class WHERE oid = 'wishlist'::regclass) = 'p' THEN
+        RAISE EXCEPTION 'wishlist is already partitioned';
+    END IF;
+END $$;
+
+-- Reads go on, writes wait
+LOCK TABLE wishlist IN SHARE ROW EXCLUSIVE MODE;
+
+ALTER TABLE wishlist RENAME TO wishlist_unpartitioned;
+ALTER TABLE wishlist_unpartitioned RENAME CONSTRAINT wishlist_pkey TO wishlist_unpartitioned_pkey;
+ALTER TABLE wishlist_unpartitioned RENAME CONSTRAINT uk_wishlist_user_product TO uk_wishlist_unpartitioned_user_product;
+ALTER INDEX IF EXISTS idx_wishlist_user_created_covering RENAME TO idx_wishlist_unpartitioned_user_created_covering;
+ALTER INDEX IF EXISTS idx_wishlist_created_product RENAME TO idx_wishlist_unpartitioned_created_product;
+ALTER INDEX IF EXISTS idx_wishlist_product_user RENAME TO idx_wishlist_unpartitioned_product_user;
+-- The foreign key names move to the new table
+ALTER TABLE wishlist_unpartitioned DROP CONSTRAINT IF EXISTS fktrd6335blsefl2gxpb8lr0gr7;
+ALTER TABLE wishlist_unpartitioned DROP CONSTRAINT IF EXISTS fk6p7qhvy1bfkri13u29x6pu8au;
+
+CREATE TABLE wishlist (
+    id           INTEGER NOT NULL,
+    user_id      INTEGER NOT NULL,
+    product_id   INTEGER NOT NULL,
+    created_date TIMESTAMP(6)
+) PARTITION BY HASH (user_id);
+
+DO $$
+BEGIN
+    FOR remainder IN 0..15 LOOP
+        EXECUTE format('CREATE TABLE wishlist_p%s PARTITION OF wishlist FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+                       lpad(remainder::text, 2, '0'), remainder);
+    END LOOP;
+END $$;
+
+INSERT INTO wishlist (id, user_id, product_id, created_date)
+SELECT id, user_id, product_id, created_date FROM wishlist_unpartitioned;
+
+-- Constraints and indexes are built after the copy, which is much faster than maintaining them row by row
+ALTER TABLE wishlist ADD CONSTRAINT wishlist_pkey PRIMARY KEY (user_id, id);
+ALTER TABLE wishlist ADD CONSTRAINT uk_wishlist_user_product UNIQUE (user_id, product_id);
+ALTER TABLE wishlist ADD CONSTRAINT fktrd6335blsefl2gxpb8lr0gr7 FOREIGN KEY (user_id) REFERENCES users (id);
+ALTER TABLE wishlist ADD CONSTRAINT fk6p7qhvy1bfkri13u29x6pu8au FOREIGN KEY (product_id) REFERENCES products (id);
+CREATE INDEX idx_wishlist_user_created_covering ON wishlist (user_id, created_date, id) INCLUDE (product_id);
+CREATE INDEX idx_wishlist_created_product ON wishlist (created_date, product_id);
+CREATE INDEX idx_wishlist_product_user ON wishlist (product_id, user_id);
+
+COMMIT;
+
+ANALYZE wishlist;
@@ -0,0 +1,68 @@
+package com.ecommerce.WishList.cache;
+
+import com.ecommerce.WishList.config.WishlistCacheProperties;
+import com.ecommerce.WishList.dto.ProductSnapshot;
+import com.ecommerce.WishList.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductNearCacheTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductNearCache cache;
+
+    private final ProductSnapshot phone = new ProductSnapshot(1, "Smartphone", 599.99, 10);
+    private final ProductSnapshot laptop = new ProductSnapshot(2, "Laptop", 999.99, 0);
+
+    @BeforeEach
+    void setUp() {
+        cache = new ProductNearCache(productRepository, new WishlistCacheProperties());
+    }
+
+    // +ve test case : misses for several products are loaded with one query and then served from memory
+    @Test
+    void getAllLoadsMissesTogether() {
+        when(productRepository.findSnapshotsByIdIn(argThat(ids -> ids.size() == 3))).thenReturn(List.of(phone, laptop));
+
+        assertEquals(Map.of(1, phone, 2, laptop), cache.getAll(List.of(1, 2, 3)));
+        assertEquals(Optional.of(phone), cache.get(1));
+        assertFalse(cache.get(2).get().inStock());
+        verify(productRepository, times(1)).findSnapshotsByIdIn(anyCollection());
+    }
+
+    // +ve test case : an invalidated product is read again on the next lookup
+    @Test
+    void invalidateReloads() {
+        when(productRepository.findSnapshotsByIdIn(List.of(1))).thenReturn(List.of(phone));
+
+        cache.get(1);
+        cache.invalidate(1);
+        cache.get(1);
+
+        verify(productRepository, times(2)).findSnapshotsByIdIn(List.of(1));
+    }
+
+    // -ve test case : a product that does not exist is not cached
+    @Test
+    void missingProductNotCached() {
+        when(productRepository.findSnapshotsByIdIn(List.of(3))).thenReturn(List.of());
+
+        assertTrue(cache.get(3).isEmpty());
+        assertTrue(cache.get(3).isEmpty());
+        verify(productRepository, times(2)).findSnapshotsByIdIn(List.of(3));
+    }
+}
@@ -0,0 +1,61 @@
+package com.ecommerce.WishList.cache;
+
+import com.ecommerce.WishList.config.WishlistCacheProperties;
+import com.ecommerce.WishList.event.WishlistChangedEvent;
+import com.ecommerce.WishList.repository.WishlistRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WishlistMembershipIndexTest {
+
+    @Mock
+    private WishlistRepository wishlistRepository;
+
+    private WishlistMembershipIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new WishlistMembershipIndex(wishlistRepository, new WishlistCacheProperties());
+    }
+
+    // +ve test case : a user's products are loaded once and then answered from memory
+    @Test
+    void containsLoadsOnce() {
+        when(wishlistRepository.findProductIdsByUserId(1)).thenReturn(List.of(30, 10, 20));
+
+        assertEquals(Map.of(10, true, 15, false), index.contains(1, List.of(10, 15)));
+        assertEquals(Map.of(30, true), index.contains(1, List.of(30)));
+        verify(wishlistRepository, times(1)).findProductIdsByUserId(1);
+    }
+
+    // +ve test case : committed changes are applied to a loaded set
+    @Test
+    void changesAppliedToLoadedUser() {
+        when(wishlistRepository.findProductIdsByUserId(1)).thenReturn(List.of(10, 20));
+        index.contains(1, List.of(10));
+
+        index.onWishlistChanged(WishlistChangedEvent.added(1, List.of(5)));
+        index.onWishlistChanged(WishlistChangedEvent.removed(1, List.of(20)));
+
+        assertEquals(Map.of(5, true, 10, true, 20, false), index.contains(1, List.of(5, 10, 20)));
+        verify(wishlistRepository, times(1)).findProductIdsByUserId(1);
+    }
+
+    // -ve test case : changes for users that are not loaded do not trigger a load
+    @Test
+    void changesIgnoredForUnloadedUser() {
+        index.onWishlistChanged(WishlistChangedEvent.added(2, List.of(5)));
+
+        verifyNoInteractions(wishlistRepository);
+    }
+}
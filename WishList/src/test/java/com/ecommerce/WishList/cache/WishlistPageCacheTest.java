@@ -0,0 +1,93 @@
+package com.ecommerce.WishList.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WishlistPageCacheTest {
+
+    private WishlistPageCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new WishlistPageCache("wishlistCache", 1_000, 2,
+                Duration.ofMinutes(10), Duration.ofMinutes(1), key -> null);
+    }
+
+    // +ve test case : pages of the same user are cached under separate keys
+    @Test
+    void putAndGetByPage() {
+        cache.put(WishlistPageKey.of(1, 0, 5, 0), List.of("a"));
+        cache.put(WishlistPageKey.of(1, 1, 5, 0), List.of("b"));
+
+        assertEquals(List.of("a"), cache.get(WishlistPageKey.of(1, 0, 5, 0)).get());
+        assertEquals(List.of("b"), cache.get(WishlistPageKey.of(1, 1, 5, 0)).get());
+        assertNull(cache.get(WishlistPageKey.of(1, 0, 10, 0)));
+    }
+
+    // +ve test case : evicting by user id drops every page of that user only
+    @Test
+    void evictByUserId() {
+        cache.put(WishlistPageKey.of(1, 0, 5, 0), List.of("a"));
+        cache.put(WishlistPageKey.of(1, 1, 5, 0), List.of("b"));
+        cache.put(WishlistPageKey.of(2, 0, 5, 0), List.of("c"));
+
+        cache.evict(1);
+
+        assertNull(cache.get(WishlistPageKey.of(1, 0, 5, 0)));
+        assertNull(cache.get(WishlistPageKey.of(1, 1, 5, 0)));
+        assertNotNull(cache.get(WishlistPageKey.of(2, 0, 5, 0)));
+    }
+
+    // +ve test case : only the configured number of pages is kept per user
+    @Test
+    void oldestPageDroppedWhenUserLimitReached() {
+        cache.put(WishlistPageKey.of(1, 0, 5, 0), List.of("a"));
+        cache.put(WishlistPageKey.of(1, 1, 5, 0), List.of("b"));
+        cache.put(WishlistPageKey.of(1, 2, 5, 0), List.of("c"));
+
+        assertNull(cache.get(WishlistPageKey.of(1, 0, 5, 0)));
+        assertNotNull(cache.get(WishlistPageKey.of(1, 1, 5, 0)));
+        assertNotNull(cache.get(WishlistPageKey.of(1, 2, 5, 0)));
+    }
+
+    // +ve test case : a newer version drops the older pages, and an older one is not stored
+    @Test
+    void pagesOfOtherVersionsAreNotServed() {
+        cache.put(WishlistPageKey.of(1, 0, 5, 3), List.of("a"));
+
+        assertNull(cache.get(WishlistPageKey.of(1, 0, 5, 4)));
+        cache.put(WishlistPageKey.of(1, 1, 5, 4), List.of("b"));
+        cache.put(WishlistPageKey.of(1, 0, 5, 3), List.of("a"));
+
+        assertNull(cache.get(WishlistPageKey.of(1, 0, 5, 3)));
+        assertEquals(List.of("b"), cache.get(WishlistPageKey.of(1, 1, 5, 4)).get());
+        assertEquals(4, cache.getNativeCache().getIfPresent(1).version());
+        assertEquals(1, cache.getNativeCache().getIfPresent(1).size());
+    }
+
+    // +ve test case : a missing page counts as a miss even when the user has other pages cached
+    @Test
+    void statsRecordedPerPage() {
+        cache.put(WishlistPageKey.of(1, 0, 5, 0), List.of("a"));
+
+        cache.get(WishlistPageKey.of(1, 0, 5, 0));
+        cache.get(WishlistPageKey.of(1, 1, 5, 0));
+        cache.get(WishlistPageKey.of(2, 0, 5, 0));
+
+        CacheStats stats = cache.getNativeCache().stats();
+        assertEquals(1, stats.hitCount());
+        assertEquals(2, stats.missCount());
+    }
+
+    // -ve test case : keys that are not page keys are rejected
+    @Test
+    void unsupportedKey() {
+        assertThrows(IllegalArgumentException.class, () -> cache.put("1-0-5", List.of("a")));
+    }
+}
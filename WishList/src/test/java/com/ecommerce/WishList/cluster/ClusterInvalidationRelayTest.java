@@ -0,0 +1,130 @@
+package com.ecommerce.WishList.cluster;
+
+import com.ecommerce.WishList.cache.WishlistMembershipIndex;
+import com.ecommerce.WishList.cache.WishlistVersionCache;
+import com.ecommerce.WishList.config.CacheConfig;
+import com.ecommerce.WishList.event.WishlistChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ClusterInvalidationRelayTest {
+
+    private final List<ClusterInvalidationRelay> relays = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        relays.forEach(ClusterInvalidationRelay::stop);
+    }
+
+    // +ve test case : a change on one node drops the user's cached wishlist on the others only
+    @Test
+    void changeInvalidatesOtherNodes() {
+        Node a = new Node("a");
+        Node b = new Node("b");
+
+        a.relay.onWishlistChanged(WishlistChangedEvent.added(7, List.of(1)));
+        verifyNoInteractions(b.pages);
+        a.relay.publishPending();
+
+        verify(b.pages).evict(7);
+        verify(b.versions).invalidate(7);
+        verify(b.membership).invalidate(7);
+        verifyNoInteractions(a.pages, a.versions, a.membership);
+    }
+
+    // +ve test case : changes queued between runs go out as one batch with one message per user
+    @Test
+    void changesArePublishedInBatches() {
+        InvalidationTransport transport = mock(InvalidationTransport.class);
+        ClusterInvalidationRelay relay = relay(transport, new ClusterCacheProperties());
+
+        relay.onWishlistChanged(WishlistChangedEvent.added(7, List.of(1)));
+        relay.onWishlistChanged(WishlistChangedEvent.removed(7, List.of(1)));
+        relay.onWishlistChanged(WishlistChangedEvent.added(8, List.of(2)));
+        verify(transport, never()).publish(anyList());
+        relay.publishPending();
+        relay.publishPending();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<WishlistInvalidation>> batch = ArgumentCaptor.forClass(List.class);
+        verify(transport).publish(batch.capture());
+        assertEquals(Set.of(7, 8), batch.getValue().stream().map(WishlistInvalidation::userId).collect(Collectors.toSet()));
+        assertEquals(2, batch.getValue().size());
+    }
+
+    // -ve test case : past the queue limit one all users message replaces the queued users
+    @Test
+    void overflowPublishesAllUsers() {
+        InvalidationTransport transport = mock(InvalidationTransport.class);
+        ClusterCacheProperties properties = new ClusterCacheProperties();
+        properties.setMaxPending(1);
+        ClusterInvalidationRelay relay = relay(transport, properties);
+
+        relay.onWishlistChanged(WishlistChangedEvent.added(7, List.of(1)));
+        relay.onWishlistChanged(WishlistChangedEvent.added(8, List.of(2)));
+        relay.publishPending();
+
+        verify(transport).publish(List.of(WishlistInvalidation.allUsers(properties.getNodeId())));
+    }
+
+    // -ve test case : a failing transport does not fail the change, and the queue moves on
+    @Test
+    void failedPublishIsDropped() {
+        InvalidationTransport transport = mock(InvalidationTransport.class);
+        doThrow(new IllegalStateException("down")).when(transport).publish(anyList());
+        ClusterInvalidationRelay relay = relay(transport, new ClusterCacheProperties());
+
+        relay.onWishlistChanged(WishlistChangedEvent.added(7, List.of(1)));
+        relay.publishPending();
+        relay.publishPending();
+
+        verify(transport, times(1)).publish(anyList());
+    }
+
+    // +ve test case : messages are encoded and decoded losslessly, all users included
+    @Test
+    void invalidationRoundTrip() {
+        assertEquals(WishlistInvalidation.user("node-1", 42),
+                WishlistInvalidation.decode(WishlistInvalidation.user("node-1", 42).encode()));
+        assertTrue(WishlistInvalidation.decode(WishlistInvalidation.allUsers("node|2").encode()).isAllUsers());
+        assertThrows(IllegalArgumentException.class, () -> WishlistInvalidation.decode("7"));
+    }
+
+    private static ClusterInvalidationRelay relay(InvalidationTransport transport, ClusterCacheProperties properties) {
+        CacheManager cacheManager = mock(CacheManager.class);
+        when(cacheManager.getCache(CacheConfig.WISHLIST_CACHE)).thenReturn(mock(Cache.class));
+        return new ClusterInvalidationRelay(transport, properties, cacheManager, mock(WishlistVersionCache.class),
+                mock(WishlistMembershipIndex.class), new SimpleMeterRegistry());
+    }
+
+    private class Node {
+        final Cache pages = mock(Cache.class);
+        final WishlistVersionCache versions = mock(WishlistVersionCache.class);
+        final WishlistMembershipIndex membership = mock(WishlistMembershipIndex.class);
+        final ClusterInvalidationRelay relay;
+
+        Node(String nodeId) {
+            ClusterCacheProperties properties = new ClusterCacheProperties();
+            properties.setNodeId(nodeId);
+            properties.setChannel("relay_test");
+            CacheManager cacheManager = mock(CacheManager.class);
+            when(cacheManager.getCache(CacheConfig.WISHLIST_CACHE)).thenReturn(pages);
+            relay = new ClusterInvalidationRelay(new LocalInvalidationTransport(properties.getChannel()), properties,
+                    cacheManager, versions, membership, new SimpleMeterRegistry());
+            relay.start();
+            relays.add(relay);
+        }
+    }
+}
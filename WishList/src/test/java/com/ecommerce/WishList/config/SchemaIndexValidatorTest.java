@@ -0,0 +1,40 @@
+package com.ecommerce.WishList.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaIndexValidatorTest {
+
+    // +ve test case : every required index present and valid, whatever its name
+    @Test
+    void allIndexesPresent() {
+        Map<String, Boolean> indexes = new LinkedHashMap<>();
+        indexes.put("CREATE UNIQUE INDEX wishlist_pkey ON public.wishlist USING btree (id)", true);
+        SchemaIndexValidator.REQUIRED_INDEXES.keySet().forEach(columns ->
+                indexes.put("CREATE INDEX any_name ON ONLY public.wishlist USING btree " + columns, true));
+
+        assertTrue(SchemaIndexValidator.problems(indexes).isEmpty());
+    }
+
+    // -ve test case : a missing index and one left invalid by a failed concurrent build are both reported
+    @Test
+    void missingAndInvalidIndexes() {
+        Map<String, Boolean> indexes = new LinkedHashMap<>();
+        indexes.put("CREATE UNIQUE INDEX uk_wishlist_user_product ON public.wishlist USING btree (user_id, product_id)", true);
+        indexes.put("CREATE INDEX idx_wishlist_created_product ON public.wishlist USING btree (created_date, product_id)", false);
+        // Same key columns without the INCLUDE column does not count as the covering index
+        indexes.put("CREATE INDEX idx_wishlist_user_created_id ON public.wishlist USING btree (user_id, created_date, id)", true);
+
+        List<String> problems = SchemaIndexValidator.problems(indexes);
+
+        assertEquals(3, problems.size());
+        assertTrue(problems.get(0).startsWith("no index on (user_id, created_date, id) INCLUDE (product_id)"));
+        assertTrue(problems.get(1).contains("is invalid"));
+        assertTrue(problems.get(2).startsWith("no index on (product_id, user_id)"));
+    }
+}
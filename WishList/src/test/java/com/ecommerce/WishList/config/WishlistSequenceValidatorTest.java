@@ -0,0 +1,22 @@
+package com.ecommerce.WishList.config;
+
+import com.ecommerce.WishList.entity.WishlistIdGenerator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WishlistSequenceValidatorTest {
+
+    // +ve test case : the sequence steps by the allocation block size
+    @Test
+    void matchingIncrement() {
+        assertTrue(WishlistSequenceValidator.problem((long) WishlistIdGenerator.ALLOCATION_SIZE).isEmpty());
+    }
+
+    // -ve test case : a different increment or a missing sequence fails the start
+    @Test
+    void mismatchedOrMissingSequence() {
+        assertTrue(WishlistSequenceValidator.problem(1L).orElseThrow().contains("increments by 1"));
+        assertTrue(WishlistSequenceValidator.problem(null).orElseThrow().contains("missing"));
+    }
+}
@@ -1,20 +1,33 @@
 package com.ecommerce.WishList.controller;
 
-import com.ecommerce.WishList.entity.WishList;
+import com.ecommerce.WishList.dto.WishlistAddResult;
+import com.ecommerce.WishList.dto.WishlistItemView;
 import com.ecommerce.WishList.service.WishlistService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -25,15 +38,17 @@ class WishlistControllerTest {
     @Mock
     private WishlistService wishlistService;
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private WishlistController wishlistController;
 
-    private WishList wishListItem;
+    private WishlistItemView wishlistItemView;
 
     @BeforeEach
     void setUp() {
-        wishListItem = new WishList();
-        wishListItem.setId(1);
+        wishlistItemView = new WishlistItemView(1, 101, "Smartphone", 599.99, 10, new Date());
     }
 
     // positive test case for fetching wishlist
@@ -42,18 +57,41 @@ class WishlistControllerTest {
         int userId = 1;
         int page = 0;
         int size = 5;
-        List<WishList> wishlist = Arrays.asList(wishListItem);
-        Page<WishList> wishlistPage = new PageImpl<>(wishlist, PageRequest.of(page, size), wishlist.size());
+        List<WishlistItemView> wishlist = Arrays.asList(wishlistItemView);
+        Page<WishlistItemView> wishlistPage = new PageImpl<>(wishlist, PageRequest.of(page, size), wishlist.size());
 
         when(wishlistService.getWishlistItems(userId, page, size)).thenReturn(wishlistPage);
+        when(wishlistService.getWishlistVersion(userId)).thenReturn(Optional.of(7L));
 
-        ResponseEntity<List<WishList>> response = wishlistController.getUserWishlist(userId, page, size);
+        ResponseEntity<List<WishlistItemView>> response = wishlistController.getUserWishlist(userId, page, size,
+                new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse()));
 
         assertEquals(200, response.getStatusCodeValue());
         assertEquals(1, response.getBody().size());
+        assertEquals("1", response.getHeaders().getFirst(WishlistController.TOTAL_COUNT_HEADER));
+        assertEquals("\"7\"", response.getHeaders().getETag());
         verify(wishlistService, times(1)).getWishlistItems(userId, page, size);
     }
 
+    // positive test case for a conditional fetch whose ETag still matches: 304, page not loaded
+    @Test
+    void getWishlistNotModified() {
+        int userId = 1;
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/wishlist/user/1");
+        request.addHeader("If-None-Match", "\"7\"");
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        when(wishlistService.getWishlistVersion(userId)).thenReturn(Optional.of(7L));
+
+        ResponseEntity<List<WishlistItemView>> response = wishlistController.getUserWishlist(userId, 0, 5,
+                new ServletWebRequest(request, servletResponse));
+
+        assertNull(response);
+        assertEquals(304, servletResponse.getStatus());
+        assertEquals("\"7\"", servletResponse.getHeader("ETag"));
+        verify(wishlistService, never()).getWishlistItems(anyInt(), anyInt(), anyInt());
+    }
+
     // negative test case for fetching wishlist with invalid user id
     @Test
     void getWishlistFailure() {
@@ -63,7 +101,8 @@ class WishlistControllerTest {
 
         when(wishlistService.getWishlistItems(userId, page, size)).thenReturn(Page.empty());
 
-        ResponseEntity<List<WishList>> response = wishlistController.getUserWishlist(userId, page, size);
+        ResponseEntity<List<WishlistItemView>> response = wishlistController.getUserWishlist(userId, page, size,
+                new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse()));
 
         assertEquals(200, response.getStatusCodeValue());
         assertTrue(response.getBody().isEmpty());
@@ -76,9 +115,9 @@ class WishlistControllerTest {
         int userId = 1;
         int productId = 101;
 
-        when(wishlistService.addToWishlist(userId, productId)).thenReturn(wishListItem);
+        when(wishlistService.addToWishlist(userId, productId)).thenReturn(WishlistAddResult.added(wishlistItemView));
 
-        ResponseEntity<WishList> response = wishlistController.addToWishlist(userId, productId);
+        ResponseEntity<WishlistItemView> response = wishlistController.addToWishlist(userId, productId);
 
         assertEquals(200, response.getStatusCodeValue());
         assertNotNull(response.getBody());
@@ -99,6 +138,41 @@ class WishlistControllerTest {
         verify(wishlistService, times(1)).addToWishlist(userId, productId);
     }
 
+    // positive test case for exporting a wishlist as one JSON line per item
+    @Test
+    void exportWishlistSuccess() throws IOException {
+        int userId = 1;
+        doAnswer(invocation -> {
+            Consumer<WishlistItemView> action = invocation.getArgument(1);
+            action.accept(wishlistItemView);
+            action.accept(wishlistItemView);
+            return 2L;
+        }).when(wishlistService).forEachWishlistItem(eq(userId), any());
+
+        ResponseEntity<StreamingResponseBody> response = wishlistController.exportUserWishlist(userId);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"productId\":101"));
+    }
+
+    // positive test case for checking wishlist membership
+    @Test
+    void containsProductsSuccess() {
+        int userId = 1;
+        List<Integer> productIds = List.of(101, 102);
+        Map<Integer, Boolean> membership = Map.of(101, true, 102, false);
+
+        when(wishlistService.containsProducts(userId, productIds)).thenReturn(membership);
+
+        ResponseEntity<Map<Integer, Boolean>> response = wishlistController.containsProducts(userId, productIds);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(membership, response.getBody());
+    }
+
     // positive test case for removing item from wishlist
     @Test
     void removeWishlistSuccess() {
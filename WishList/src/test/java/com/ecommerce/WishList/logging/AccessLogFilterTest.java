@@ -0,0 +1,39 @@
+package com.ecommerce.WishList.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessLogFilterTest {
+
+    // +ve test case : with sampling off, only server errors and slow requests are logged
+    @Test
+    void errorsAndSlowRequestsAlwaysLogged() {
+        AccessLogFilter filter = filter(0);
+
+        assertFalse(filter.sampled(200, TimeUnit.MILLISECONDS.toNanos(10)));
+        assertFalse(filter.sampled(404, TimeUnit.MILLISECONDS.toNanos(10)));
+        assertTrue(filter.sampled(503, TimeUnit.MILLISECONDS.toNanos(10)));
+        assertTrue(filter.sampled(200, TimeUnit.MILLISECONDS.toNanos(600)));
+    }
+
+    // +ve test case : a sample rate of 1 logs every request
+    @Test
+    void fullSampleRateLogsEverything() {
+        AccessLogFilter filter = filter(1);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(filter.sampled(200, 0));
+        }
+    }
+
+    private static AccessLogFilter filter(double sampleRate) {
+        AccessLogProperties properties = new AccessLogProperties();
+        properties.setSampleRate(sampleRate);
+        properties.setSlowThreshold(Duration.ofMillis(500));
+        return new AccessLogFilter(properties);
+    }
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.WishList.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitedLoggerTest {
+
+    // +ve test case : one line per key within the interval, the next one reports what was dropped
+    @Test
+    void logsOncePerKeyAndInterval() throws InterruptedException {
+        Logger logger = (Logger) LoggerFactory.getLogger(RateLimitedLoggerTest.class);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        RateLimitedLogger rateLimited = new RateLimitedLogger(logger, Duration.ofMillis(200));
+
+        for (int i = 0; i < 5; i++) {
+            rateLimited.warn("user", "User not found: {}", i);
+        }
+        rateLimited.warn("product", "Product not found: {}", 1);
+        Thread.sleep(250);
+        rateLimited.warn("user", "User not found: {}", 5);
+
+        assertEquals(3, appender.list.size());
+        assertEquals("User not found: 0", appender.list.get(0).getFormattedMessage());
+        assertEquals("Product not found: 1", appender.list.get(1).getFormattedMessage());
+        assertEquals("User not found: 5 (4 similar suppressed)", appender.list.get(2).getFormattedMessage());
+        logger.detachAppender(appender);
+    }
+}
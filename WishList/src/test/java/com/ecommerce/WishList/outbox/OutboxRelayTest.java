@@ -0,0 +1,147 @@
+package com.ecommerce.WishList.outbox;
+
+import com.ecommerce.WishList.entity.WishlistOutboxEvent;
+import com.ecommerce.WishList.repository.WishlistIdAllocator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Real transactions, so that row locks and SKIP LOCKED behave as in production
+@DataJpaTest
+@Import(WishlistIdAllocator.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayTest {
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private WishlistOutbox outbox;
+    private InMemoryOutboxSink sink;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        outbox = new WishlistOutbox(jdbcTemplate);
+        sink = new InMemoryOutboxSink(100);
+        relay = newRelay(sink);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.getJdbcTemplate().update("DELETE FROM wishlist_outbox");
+    }
+
+    // +ve test case : events are published in id order and removed from the outbox
+    @Test
+    void relayPublishesAndDeletes() {
+        append(1, WishlistOutboxEvent.Type.ADDED, List.of(10, 11));
+        append(2, WishlistOutboxEvent.Type.ADDED, List.of(10));
+        append(1, WishlistOutboxEvent.Type.REMOVED, List.of(10));
+
+        assertEquals(4, relay.relayOnce());
+
+        List<WishlistEvent> events = sink.events();
+        assertEquals(List.of(1, 1, 2, 1), events.stream().map(WishlistEvent::userId).toList());
+        assertEquals(WishlistOutboxEvent.Type.REMOVED, events.get(3).type());
+        assertTrue(events.get(0).id() < events.get(3).id());
+        assertEquals(0, outboxSize());
+        assertEquals(0, relay.relayOnce());
+    }
+
+    // +ve test case : a user whose older event is held elsewhere waits; other users go ahead
+    @Test
+    void relayKeepsUserOrderWhenOlderEventIsLocked() throws Exception {
+        append(1, WishlistOutboxEvent.Type.ADDED, List.of(10));
+        append(2, WishlistOutboxEvent.Type.ADDED, List.of(10));
+        append(1, WishlistOutboxEvent.Type.REMOVED, List.of(10));
+        long oldest = jdbcTemplate.getJdbcTemplate().queryForObject("SELECT MIN(id) FROM wishlist_outbox", Long.class);
+
+        // Another relay holding user 1's first event
+        try (Connection other = dataSource.getConnection()) {
+            other.setAutoCommit(false);
+            try (PreparedStatement lock = other.prepareStatement("SELECT id FROM wishlist_outbox WHERE id = ? FOR UPDATE")) {
+                lock.setLong(1, oldest);
+                lock.executeQuery().close();
+            }
+
+            assertEquals(1, relay.relayOnce());
+            assertEquals(List.of(2), sink.events().stream().map(WishlistEvent::userId).toList());
+            other.rollback();
+        }
+
+        assertEquals(2, relay.relayOnce());
+        List<WishlistEvent> events = sink.events().subList(1, 3);
+        assertEquals(List.of(WishlistOutboxEvent.Type.ADDED, WishlistOutboxEvent.Type.REMOVED),
+                events.stream().map(WishlistEvent::type).toList());
+    }
+
+    // -ve test case : a failing sink leaves the batch in the outbox for the next run
+    @Test
+    void failedPublishIsRetried() {
+        append(1, WishlistOutboxEvent.Type.ADDED, List.of(10, 11));
+        OutboxRelay failing = newRelay(events -> {
+            throw new IllegalStateException("sink down");
+        });
+
+        assertThrows(IllegalStateException.class, failing::relayOnce);
+        assertEquals(2, outboxSize());
+
+        assertEquals(2, relay.relayOnce());
+        assertEquals(List.of(10, 11), sink.events().stream().map(WishlistEvent::productId).toList());
+    }
+
+    // -ve test case : a full memory sink refuses the batch, which stays in the outbox until there is room
+    @Test
+    void fullSinkKeepsEventsInOutbox() {
+        InMemoryOutboxSink small = new InMemoryOutboxSink(2);
+        OutboxRelay smallRelay = newRelay(small);
+        append(1, WishlistOutboxEvent.Type.ADDED, List.of(10, 11));
+        assertEquals(2, smallRelay.relayOnce());
+        append(2, WishlistOutboxEvent.Type.ADDED, List.of(10));
+
+        assertThrows(IllegalStateException.class, smallRelay::relayOnce);
+        assertEquals(1, outboxSize());
+
+        assertEquals(2, small.drain().size());
+        assertEquals(1, smallRelay.relayOnce());
+        assertEquals(List.of(2), small.events().stream().map(WishlistEvent::userId).toList());
+        assertEquals(0, outboxSize());
+    }
+
+    private OutboxRelay newRelay(OutboxSink target) {
+        OutboxProperties properties = new OutboxProperties();
+        properties.setBatchSize(10);
+        return new OutboxRelay(properties, jdbcTemplate, transactionTemplate, target, new SimpleMeterRegistry());
+    }
+
+    private void append(Integer userId, WishlistOutboxEvent.Type type, List<Integer> productIds) {
+        transactionTemplate.executeWithoutResult(status -> outbox.append(userId, type, productIds, new Date()));
+    }
+
+    private int outboxSize() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM wishlist_outbox", Map.of(), Integer.class);
+    }
+}
@@ -1,20 +1,218 @@
 package com.ecommerce.WishList.repository;
 
+import com.ecommerce.WishList.dto.ProductScore;
+import com.ecommerce.WishList.dto.WishlistEntry;
+import com.ecommerce.WishList.dto.WishlistItemView;
+import com.ecommerce.WishList.entity.Product;
+import com.ecommerce.WishList.entity.User;
+import com.ecommerce.WishList.entity.WishList;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(WishlistIdAllocator.class)
 class WishlistRepositoryTest {
 
+    private static final int WISHLIST_SIZE = 30;
+
+    @Autowired
+    private WishlistRepository wishlistRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setFirstName("megha");
+        user.setLastName("biradar");
+        user.setEmail("megha.b@example.com");
+        entityManager.persist(user);
+
+        products = new ArrayList<>();
+        for (int i = 0; i < WISHLIST_SIZE; i++) {
+            Product product = new Product();
+            product.setName("Product " + i);
+            product.setPrice(10.0 + i);
+            product.setStock(5);
+            entityManager.persist(product);
+            entityManager.persist(new WishList(user, product));
+            products.add(product);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
     @Test
     void findByUserId() {
+        Page<WishList> page = wishlistRepository.findByUserId(user.getId(), PageRequest.of(0, 5));
+
+        assertEquals(5, page.getNumberOfElements());
+        assertEquals(WISHLIST_SIZE, page.getTotalElements());
+    }
+
+    // statement count per page must not grow with the page size (no N+1 on products)
+    @Test
+    void findByUserIdStatementCountIsConstant() {
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        for (int size : new int[]{5, 10, 20}) {
+            entityManager.clear();
+            statistics.clear();
+
+            Page<WishList> page = wishlistRepository.findByUserId(user.getId(), PageRequest.of(0, size));
+            page.forEach(item -> assertNotNull(item.getProduct().getName()));
+
+            assertEquals(size, page.getNumberOfElements());
+            // one select for the page and its products, one count
+            assertEquals(2, statistics.getPrepareStatementCount(), "statements for page size " + size);
+        }
+    }
+
+    // entries come from a single projection query, without touching products or counting rows
+    @Test
+    void findEntriesByUserId() {
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<WishlistEntry> page = wishlistRepository.findEntriesByUserId(user.getId(), PageRequest.of(1, 10));
+
+        assertEquals(10, page.size());
+        assertEquals(products.get(10).getId(), page.get(0).productId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    // walking the keyset pages returns every row once, in (createdDate, id) order
+    @Test
+    void keysetScanVisitsEveryRowOnce() {
+        Limit limit = Limit.of(7);
+        List<WishlistEntry> seen = new ArrayList<>(wishlistRepository.findFirstEntries(user.getId(), limit));
+        while (seen.size() < WISHLIST_SIZE) {
+            WishlistEntry last = seen.get(seen.size() - 1);
+            List<WishlistEntry> next = wishlistRepository.findEntriesAfter(user.getId(),
+                    last.createdDate(), last.wishlistId(), limit);
+            assertFalse(next.isEmpty());
+            seen.addAll(next);
+        }
+
+        assertEquals(WISHLIST_SIZE, seen.size());
+        for (int i = 0; i < WISHLIST_SIZE; i++) {
+            assertEquals(products.get(i).getId(), seen.get(i).productId());
+        }
+        WishlistEntry last = seen.get(WISHLIST_SIZE - 1);
+        assertTrue(wishlistRepository.findEntriesAfter(user.getId(), last.createdDate(), last.wishlistId(), limit).isEmpty());
+    }
+
+    // the export cursor yields every item in page order
+    @Test
+    void streamItemViewsByUserId() {
+        try (Stream<WishlistItemView> items = wishlistRepository.streamItemViewsByUserId(user.getId())) {
+            assertEquals(products.stream().map(Product::getId).toList(),
+                    items.map(WishlistItemView::productId).toList());
+        }
     }
 
     @Test
     void findByUserIdAndProductId() {
+        Integer productId = products.get(0).getId();
+
+        assertTrue(wishlistRepository.findByUserIdAndProductId(user.getId(), productId).isPresent());
+        assertTrue(wishlistRepository.findByUserIdAndProductId(user.getId() + 1, productId).isEmpty());
+    }
+
+    @Test
+    void deleteByUserIdAndProductIds() {
+        List<Integer> productIds = List.of(products.get(0).getId(), products.get(1).getId());
+
+        assertEquals(productIds, wishlistRepository.findProductIdsInWishlist(user.getId(), productIds));
+        assertEquals(2, wishlistRepository.deleteByUserIdAndProductIds(user.getId(), productIds));
+        assertTrue(wishlistRepository.findProductIdsInWishlist(user.getId(), productIds).isEmpty());
+    }
+
+    // counters start at zero on insert and move only through the bulk updates
+    @Test
+    void wishlistCounters() {
+        Integer productId = products.get(0).getId();
+
+        assertEquals(Optional.of(0), userRepository.findWishlistItemCount(user.getId()));
+        assertEquals(1, userRepository.adjustWishlistItemCount(user.getId(), 3));
+        assertEquals(2, productRepository.adjustWishlistCount(List.of(productId, products.get(1).getId()), 1));
+        productRepository.adjustWishlistCount(List.of(productId), -1);
+
+        assertEquals(Optional.of(3), userRepository.findWishlistItemCount(user.getId()));
+        // every counter update is a new wishlist version
+        assertEquals(Optional.of(1L), userRepository.findWishlistVersion(user.getId()));
+        assertEquals(Optional.of(0), productRepository.findWishlistCount(productId));
+        assertEquals(Optional.of(1), productRepository.findWishlistCount(products.get(1).getId()));
+        assertTrue(userRepository.findWishlistItemCount(user.getId() + 1).isEmpty());
+    }
+
+    // each row scores 1 halved per half-life of age; rows before the horizon are left out
+    @Test
+    void findProductScores() {
+        long now = System.currentTimeMillis();
+        long hour = Duration.ofHours(1).toMillis();
+        wishlistRepository.deleteAllInBatch();
+        User other = new User();
+        other.setFirstName("other");
+        other.setEmail("other@example.com");
+        entityManager.persist(other);
+        persistAt(user, products.get(0), now);
+        persistAt(other, products.get(0), now - hour);
+        persistAt(user, products.get(1), now - 2 * hour);
+        persistAt(other, products.get(2), now - 10 * hour);
+        entityManager.flush();
+
+        List<ProductScore> scores = wishlistRepository.findProductScores(
+                new Date(now - 5 * hour), new Date(now), Duration.ofHours(1), 10);
+
+        assertEquals(List.of(products.get(0).getId(), products.get(1).getId()),
+                scores.stream().map(ProductScore::productId).toList());
+        assertEquals(1.5, scores.get(0).score(), 0.01);
+        assertEquals(0.25, scores.get(1).score(), 0.01);
+    }
+
+    private void persistAt(User owner, Product product, long createdAt) {
+        WishList item = new WishList(owner, entityManager.getReference(Product.class, product.getId()));
+        item.setCreatedDate(new Date(createdAt));
+        entityManager.persist(item);
     }
 
     @Test
     void existsByUserAndProduct() {
+        User managedUser = entityManager.find(User.class, user.getId());
+        Product managedProduct = entityManager.find(Product.class, products.get(0).getId());
+
+        assertTrue(wishlistRepository.existsByUserAndProduct(managedUser, managedProduct));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,104 @@
+package com.ecommerce.WishList.routing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaDataSource replicas;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource primary = node("primary");
+        DriverManagerDataSource replica = node("replica");
+        replicas = new ReplicaDataSource(primary, List.of(new ReplicaDataSource.Replica("replica", replica)),
+                Duration.ofSeconds(5));
+        routing = new ReplicaRoutingDataSource(primary, replicas);
+        replicas.checkLag("SELECT 0");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.clear();
+    }
+
+    // +ve test case : read-only connections go to the replica, others to the primary
+    @Test
+    void readOnlyConnectionUsesReplica() throws SQLException {
+        assertEquals("replica", nodeOf(true));
+        assertEquals("primary", nodeOf(false));
+        assertEquals(1, replicas.getReplicas().get(0).getReads());
+    }
+
+    // +ve test case : a thread pinned after a write reads its own writes from the primary
+    @Test
+    void pinnedThreadReadsPrimary() throws SQLException {
+        ReadYourWrites.requirePrimary();
+
+        assertEquals("primary", nodeOf(true));
+        assertEquals(1, replicas.getPrimaryReads());
+    }
+
+    // -ve test case : a replica over the lag tolerance is skipped until it catches up
+    @Test
+    void laggingReplicaFallsBackToPrimary() throws SQLException {
+        replicas.checkLag("SELECT 30");
+        assertFalse(replicas.getReplicas().get(0).isAvailable());
+        assertEquals("primary", nodeOf(true));
+
+        replicas.checkLag("SELECT 1");
+        assertEquals("replica", nodeOf(true));
+    }
+
+    // +ve test case : explicit credentials are passed to the replica, and to the primary when none qualifies
+    @Test
+    void explicitCredentialsFollowTheRouting() throws SQLException {
+        assertEquals("replica", nodeOf(replicas.getConnection("sa", "")));
+
+        replicas.checkLag("SELECT 30");
+        assertEquals("primary", nodeOf(replicas.getConnection("sa", "")));
+        assertEquals(1, replicas.getPrimaryReads());
+    }
+
+    private String nodeOf(Connection connection) throws SQLException {
+        try (connection;
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT name FROM node")) {
+            result.next();
+            return result.getString(1);
+        }
+    }
+
+    private String nodeOf(boolean readOnly) throws SQLException {
+        try (Connection connection = routing.getConnection()) {
+            connection.setReadOnly(readOnly);
+            try (Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery("SELECT name FROM node")) {
+                result.next();
+                return result.getString(1);
+            }
+        }
+    }
+
+    private static DriverManagerDataSource node(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        jdbcTemplate.execute("DELETE FROM node");
+        jdbcTemplate.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+}
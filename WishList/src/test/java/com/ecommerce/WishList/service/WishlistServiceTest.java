@@ -1,12 +1,30 @@
 package com.ecommerce.WishList.service;
 
 import com.ecommerce.WishList.Exception.*;
+import com.ecommerce.WishList.cache.ProductNearCache;
+import com.ecommerce.WishList.cache.WishlistMembershipIndex;
+import com.ecommerce.WishList.dto.BulkItemResult;
+import com.ecommerce.WishList.dto.BulkItemStatus;
+import com.ecommerce.WishList.dto.ProductSnapshot;
+import com.ecommerce.WishList.dto.ProductWishlistCount;
+import com.ecommerce.WishList.dto.TrendingProduct;
+import com.ecommerce.WishList.dto.UserWishlistCount;
+import com.ecommerce.WishList.dto.WishlistAddResult;
+import com.ecommerce.WishList.dto.WishlistCursor;
+import com.ecommerce.WishList.dto.WishlistEntry;
+import com.ecommerce.WishList.dto.WishlistItemView;
+import com.ecommerce.WishList.dto.WishlistScrollPage;
 import com.ecommerce.WishList.entity.Product;
 import com.ecommerce.WishList.entity.User;
 import com.ecommerce.WishList.entity.WishList;
+import com.ecommerce.WishList.entity.WishlistOutboxEvent;
+import com.ecommerce.WishList.event.WishlistChangedEvent;
+import com.ecommerce.WishList.outbox.WishlistOutbox;
 import com.ecommerce.WishList.repository.ProductRepository;
 import com.ecommerce.WishList.repository.UserRepository;
 import com.ecommerce.WishList.repository.WishlistRepository;
+import com.ecommerce.WishList.trending.SpaceSavingSketch;
+import com.ecommerce.WishList.trending.WishlistTrending;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,10 +32,18 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -34,6 +60,21 @@ class WishlistServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductNearCache productCache;
+
+    @Mock
+    private WishlistMembershipIndex membershipIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private WishlistTrending trending;
+
+    @Mock
+    private WishlistOutbox outbox;
+
     @InjectMocks
     private WishlistService wishlistService;
 
@@ -61,103 +102,320 @@ class WishlistServiceTest {
         wishList = new WishList(user, product);
     }
 
+    private static ProductSnapshot snapshot(Product product) {
+        return new ProductSnapshot(product.getId(), product.getName(), product.getPrice(), product.getStock());
+    }
+
+    private static Map<Integer, ProductSnapshot> snapshots(int... productIds) {
+        Map<Integer, ProductSnapshot> snapshots = new HashMap<>();
+        for (int productId : productIds) {
+            snapshots.put(productId, new ProductSnapshot(productId, "p" + productId, 1.0, 1));
+        }
+        return snapshots;
+    }
+
     // +ve test case :get wishlist items Successfully
     @Test
     void getWishlistItems() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<WishList> mockPage = new PageImpl<>(List.of(wishList));
-        when(wishlistRepository.findByUserId(user.getId(), pageable)).thenReturn(mockPage);
-        Page<WishList> result = wishlistService.getWishlistItems(user.getId(), 0, 10);
+        WishlistEntry entry = new WishlistEntry(1, product.getId(), wishList.getCreatedDate());
+        when(wishlistRepository.findEntriesByUserId(user.getId(), pageable)).thenReturn(List.of(entry));
+        when(productCache.getAll(List.of(product.getId()))).thenReturn(Map.of(product.getId(), snapshot(product)));
+        Page<WishlistItemView> result = wishlistService.getWishlistItems(user.getId(), 0, 10);
         assertFalse(result.isEmpty());
         assertEquals(1, result.getTotalElements());
-        verify(wishlistRepository, times(1)).findByUserId(user.getId(), pageable);
+        assertEquals(product.getName(), result.getContent().get(0).name());
+        verify(wishlistRepository, times(1)).findEntriesByUserId(user.getId(), pageable);
+        // a partial first page is its own total, the counter is not read
+        verify(userRepository, never()).findWishlistItemCount(anyInt());
     }
 
-    // -ve test case :get wishlist items when empty
+    // +ve test case : the total of a full page comes from the user's counter
     @Test
-    void getWishlistItems_NotFound() {
+    void getWishlistItems_TotalFromCounter() {
+        Pageable pageable = PageRequest.of(1, 2);
+        List<WishlistEntry> entries = List.of(new WishlistEntry(3, 1, new Date()), new WishlistEntry(4, 2, new Date()));
+        when(wishlistRepository.findEntriesByUserId(user.getId(), pageable)).thenReturn(entries);
+        when(productCache.getAll(List.of(1, 2))).thenReturn(snapshots(1, 2));
+        when(userRepository.findWishlistItemCount(user.getId())).thenReturn(Optional.of(7));
+
+        Page<WishlistItemView> result = wishlistService.getWishlistItems(user.getId(), 1, 2);
+
+        assertEquals(2, result.getNumberOfElements());
+        assertEquals(7, result.getTotalElements());
+    }
+
+    // +ve test case :get wishlist items when empty returns an empty page, without a count
+    @Test
+    void getWishlistItems_Empty() {
         Pageable pageable = PageRequest.of(0, 10);
-        when(wishlistRepository.findByUserId(user.getId(), pageable)).thenReturn(Page.empty());
+        when(wishlistRepository.findEntriesByUserId(user.getId(), pageable)).thenReturn(List.of());
+
+        Page<WishlistItemView> result = wishlistService.getWishlistItems(user.getId(), 0, 10);
+
+        assertTrue(result.isEmpty());
+        assertEquals(0, result.getTotalElements());
+        verify(wishlistRepository, times(1)).findEntriesByUserId(user.getId(), pageable);
+        verifyNoInteractions(userRepository);
+    }
+
+    // +ve test case : scroll returns a cursor when more rows exist
+    @Test
+    void scrollWishlistItems() {
+        Date createdDate = new Date();
+        List<WishlistEntry> rows = List.of(
+                new WishlistEntry(1, 1, createdDate),
+                new WishlistEntry(2, 2, createdDate),
+                new WishlistEntry(3, 3, createdDate));
+        when(wishlistRepository.findFirstEntries(user.getId(), Limit.of(3))).thenReturn(rows);
+        when(productCache.getAll(List.of(1, 2, 3))).thenReturn(snapshots(1, 2, 3));
+
+        WishlistScrollPage result = wishlistService.scrollWishlistItems(user.getId(), null, 2);
+
+        assertEquals(2, result.items().size());
+        WishlistCursor cursor = WishlistCursor.decode(result.nextCursor());
+        assertEquals(2, cursor.wishlistId());
+        assertEquals(createdDate.toInstant(), cursor.createdDate());
+    }
 
-        assertThrows(WishlistNotFoundException.class, () -> wishlistService.getWishlistItems(user.getId(), 0, 10));
-        verify(wishlistRepository, times(1)).findByUserId(user.getId(), pageable);
+    // +ve test case : scroll continues after the cursor and ends without one
+    @Test
+    void scrollWishlistItems_LastPage() {
+        Date createdDate = new Date();
+        String cursor = new WishlistCursor(createdDate.toInstant(), 2).encode();
+        List<WishlistEntry> rows = List.of(new WishlistEntry(3, 3, createdDate));
+        when(wishlistRepository.findEntriesAfter(eq(user.getId()), any(Date.class), eq(2), eq(Limit.of(3))))
+                .thenReturn(rows);
+        when(productCache.getAll(List.of(3))).thenReturn(snapshots(3));
+
+        WishlistScrollPage result = wishlistService.scrollWishlistItems(user.getId(), cursor, 2);
+
+        assertEquals(1, result.items().size());
+        assertNull(result.nextCursor());
+    }
+
+    // -ve test case : scroll with a malformed cursor
+    @Test
+    void scrollWishlistItems_InvalidCursor() {
+        assertThrows(InvalidCursorException.class, () -> wishlistService.scrollWishlistItems(user.getId(), "not-a-cursor", 2));
+        verifyNoInteractions(wishlistRepository);
     }
 
     // +ve test case : add product to wishlist Successfully
     @Test
     void addToWishlist() {
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
-        when(wishlistRepository.existsByUserAndProduct(user, product)).thenReturn(false);
-        when(wishlistRepository.save(any(WishList.class))).thenReturn(wishList);
+        WishlistItemView item = new WishlistItemView(1, product.getId(), product.getName(),
+                product.getPrice(), product.getStock(), new Date());
+        when(wishlistRepository.insertIfAbsent(eq(user.getId()), eq(product.getId()), any(Date.class)))
+                .thenReturn(Optional.of(item));
 
-        WishList result = wishlistService.addToWishlist(user.getId(), product.getId());
+        WishlistAddResult result = wishlistService.addToWishlist(user.getId(), product.getId());
 
-        assertNotNull(result);
-        assertEquals(user, result.getUser());
-        assertEquals(product, result.getProduct());
-        verify(wishlistRepository, times(1)).save(any(WishList.class));
+        assertTrue(result.added());
+        assertEquals(product.getId(), result.item().productId());
+        verify(productCache, never()).get(anyInt());
+        verify(eventPublisher).publishEvent(WishlistChangedEvent.added(user.getId(), List.of(product.getId())));
     }
 
-    // -ve test case :add product to wishlist - product already exists
+    // +ve test case :add product to wishlist - product already exists, the existing item is returned
     @Test
     void addToWishlist_Duplicate() {
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
-        when(wishlistRepository.existsByUserAndProduct(user, product)).thenReturn(true);
-
-        assertThrows(DuplicateWishlistItemException.class, () -> wishlistService.addToWishlist(user.getId(), product.getId()));
-        verify(wishlistRepository, never()).save(any(WishList.class));
+        when(wishlistRepository.insertIfAbsent(eq(user.getId()), eq(product.getId()), any(Date.class)))
+                .thenReturn(Optional.empty());
+        when(productCache.get(product.getId())).thenReturn(Optional.of(snapshot(product)));
+        when(wishlistRepository.findByUserIdAndProductId(user.getId(), product.getId())).thenReturn(Optional.of(wishList));
+
+        WishlistAddResult result = wishlistService.addToWishlist(user.getId(), product.getId());
+
+        assertFalse(result.added());
+        assertEquals(product.getId(), result.item().productId());
+        verifyNoInteractions(eventPublisher);
+        // a cached in-stock product is reloaded before the add is reported as a duplicate
+        verify(productCache).invalidate(product.getId());
     }
 
     // -ve test case :add product to wishlist - User Not Found
     @Test
     void addToWishlist_UserNotFound() {
-        when(userRepository.findById(user.getId())).thenReturn(Optional.empty());
+        when(wishlistRepository.insertIfAbsent(eq(user.getId()), eq(product.getId()), any(Date.class)))
+                .thenThrow(new DataIntegrityViolationException("insert failed", new SQLException(
+                        "violates foreign key constraint \"" + WishList.USER_FOREIGN_KEY + "\"", "23503")));
 
         assertThrows(UserNotFoundException.class, () -> wishlistService.addToWishlist(user.getId(), product.getId()));
-        verify(productRepository, never()).findById(anyInt());
-        verify(wishlistRepository, never()).save(any(WishList.class));
+        verify(productCache, never()).get(anyInt());
+    }
+
+    // -ve test case : other constraint violations, e.g. an id collision, are not a missing user
+    @Test
+    void addToWishlist_OtherConstraintViolation() {
+        when(wishlistRepository.insertIfAbsent(eq(user.getId()), eq(product.getId()), any(Date.class)))
+                .thenThrow(new DataIntegrityViolationException("insert failed", new SQLException(
+                        "duplicate key value violates unique constraint \"wishlist_pkey\"", "23505")));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> wishlistService.addToWishlist(user.getId(), product.getId()));
     }
 
     // -ve test case :add product to wishlist -  Product Not Found
     @Test
     void addToWishlist_ProductNotFound() {
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(productRepository.findById(product.getId())).thenReturn(Optional.empty());
+        when(wishlistRepository.insertIfAbsent(eq(user.getId()), eq(product.getId()), any(Date.class)))
+                .thenReturn(Optional.empty());
+        when(productCache.get(product.getId())).thenReturn(Optional.empty());
 
         assertThrows(ProductNotFoundException.class, () -> wishlistService.addToWishlist(user.getId(), product.getId()));
-        verify(wishlistRepository, never()).save(any(WishList.class));
     }
 
     // -ve test case :add product to wishlist -  Product Out of Stock
     @Test
     void addToWishlist_ProductOutOfStock() {
         product.setStock(0);
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
+        when(wishlistRepository.insertIfAbsent(eq(user.getId()), eq(product.getId()), any(Date.class)))
+                .thenReturn(Optional.empty());
+        when(productCache.get(product.getId())).thenReturn(Optional.of(snapshot(product)));
 
         assertThrows(ProductOutOfStockException.class, () -> wishlistService.addToWishlist(user.getId(), product.getId()));
-        verify(wishlistRepository, never()).save(any(WishList.class));
+    }
+
+    // +ve test case : bulk add reports a status per product
+    @Test
+    void addAllToWishlist() {
+        Map<Integer, ProductSnapshot> products = Map.of(
+                1, snapshot(product),
+                2, new ProductSnapshot(2, "Out of stock", 1.0, 0),
+                3, new ProductSnapshot(3, "Already added", 1.0, 4));
+        List<Integer> productIds = List.of(1, 2, 3, 4, 1);
+
+        when(userRepository.existsById(user.getId())).thenReturn(true);
+        when(userRepository.getReferenceById(user.getId())).thenReturn(user);
+        when(productCache.getAll(Set.of(1, 2, 3, 4))).thenReturn(products);
+        when(productRepository.getReferenceById(1)).thenReturn(product);
+        when(wishlistRepository.findProductIdsInWishlist(user.getId(), Set.of(1, 2, 3, 4))).thenReturn(List.of(3));
+
+        List<BulkItemResult> results = wishlistService.addAllToWishlist(user.getId(), productIds);
+
+        assertEquals(List.of(
+                new BulkItemResult(1, BulkItemStatus.ADDED),
+                new BulkItemResult(2, BulkItemStatus.OUT_OF_STOCK),
+                new BulkItemResult(3, BulkItemStatus.ALREADY_IN_WISHLIST),
+                new BulkItemResult(4, BulkItemStatus.PRODUCT_NOT_FOUND)), results);
+        verify(wishlistRepository, times(1)).saveAllAndFlush(argThat(items ->
+                items instanceof List<?> list && list.size() == 1));
+        verify(userRepository).adjustWishlistItemCount(user.getId(), 1);
+        verify(productRepository).adjustWishlistCount(List.of(1), 1);
+    }
+
+    // -ve test case : bulk add for an unknown user
+    @Test
+    void addAllToWishlist_UserNotFound() {
+        when(userRepository.existsById(user.getId())).thenReturn(false);
+
+        assertThrows(UserNotFoundException.class, () -> wishlistService.addAllToWishlist(user.getId(), List.of(1)));
+        verify(wishlistRepository, never()).saveAllAndFlush(any());
+    }
+
+    // -ve test case : bulk request larger than the limit
+    @Test
+    void addAllToWishlist_TooManyProducts() {
+        List<Integer> productIds = new ArrayList<>();
+        for (int i = 0; i <= WishlistService.MAX_BULK_SIZE; i++) {
+            productIds.add(i);
+        }
+
+        assertThrows(InvalidBulkRequestException.class, () -> wishlistService.addAllToWishlist(user.getId(), productIds));
+        verifyNoInteractions(wishlistRepository, userRepository, productRepository);
+    }
+
+    // +ve test case : bulk remove deletes only the products in the wishlist
+    @Test
+    void removeAllFromWishlist() {
+        when(wishlistRepository.findProductIdsInWishlist(user.getId(), Set.of(1, 2))).thenReturn(List.of(1));
+        when(wishlistRepository.deleteByUserIdAndProductIds(user.getId(), Set.of(1))).thenReturn(1);
+
+        List<BulkItemResult> results = wishlistService.removeAllFromWishlist(user.getId(), List.of(1, 2));
+
+        assertEquals(List.of(
+                new BulkItemResult(1, BulkItemStatus.REMOVED),
+                new BulkItemResult(2, BulkItemStatus.NOT_IN_WISHLIST)), results);
+        verify(userRepository).adjustWishlistItemCount(user.getId(), -1);
+        verify(productRepository).adjustWishlistCount(Set.of(1), -1);
+        verify(outbox).append(eq(user.getId()), eq(WishlistOutboxEvent.Type.REMOVED), eq(Set.of(1)), any(Date.class));
+    }
+
+    // +ve test case : membership is answered by the index for the distinct product ids
+    @Test
+    void containsProducts() {
+        Map<Integer, Boolean> membership = Map.of(1, true, 2, false);
+        when(membershipIndex.contains(user.getId(), Set.of(1, 2))).thenReturn(membership);
+
+        assertEquals(membership, wishlistService.containsProducts(user.getId(), List.of(1, 2, 1)));
+        verifyNoInteractions(wishlistRepository);
     }
 
     // +ve test case   remove item from wishlist Successfully
     @Test
     void removeFromWishlist() {
-        when(wishlistRepository.findByUserIdAndProductId(user.getId(), product.getId()))
-                .thenReturn(Optional.of(wishList));
+        when(wishlistRepository.deleteByUserIdAndProductIds(user.getId(), List.of(product.getId()))).thenReturn(1);
 
         assertDoesNotThrow(() -> wishlistService.removeFromWishlist(user.getId(), product.getId()));
 
-        verify(wishlistRepository, times(1)).delete(wishList);
+        verify(userRepository).adjustWishlistItemCount(user.getId(), -1);
+        verify(productRepository).adjustWishlistCount(List.of(product.getId()), -1);
+        verify(eventPublisher).publishEvent(WishlistChangedEvent.removed(user.getId(), List.of(product.getId())));
     }
 
     // -ve test case   remove item from wishlist - Item Not Found
     @Test
     void removeFromWishlist_NotFound() {
-        when(wishlistRepository.findByUserIdAndProductId(user.getId(), product.getId())).thenReturn(Optional.empty());
+        when(wishlistRepository.deleteByUserIdAndProductIds(user.getId(), List.of(product.getId()))).thenReturn(0);
 
         assertThrows(WishlistNotFoundException.class, () -> wishlistService.removeFromWishlist(user.getId(), product.getId()));
-        verify(wishlistRepository, never()).delete(any(WishList.class));
+        verify(userRepository, never()).adjustWishlistItemCount(anyInt(), anyInt());
+        verifyNoInteractions(eventPublisher, outbox);
+    }
+
+    // +ve test case : counts are read from the counter columns
+    @Test
+    void countWishlistItems() {
+        when(userRepository.findWishlistItemCount(user.getId())).thenReturn(Optional.of(3));
+        when(productRepository.findWishlistCount(product.getId())).thenReturn(Optional.of(12));
+
+        assertEquals(new UserWishlistCount(user.getId(), 3), wishlistService.countWishlistItems(user.getId()));
+        assertEquals(new ProductWishlistCount(product.getId(), 12), wishlistService.countProductWishlists(product.getId()));
+        verifyNoInteractions(wishlistRepository);
+    }
+
+    // +ve test case : trending products come from the leaderboard, named from the product cache
+    @Test
+    void getTrendingProducts() {
+        when(trending.getMaxLimit()).thenReturn(100);
+        when(trending.defaultWindow()).thenReturn("hour");
+        when(trending.top("hour", 2)).thenReturn(Optional.of(List.of(
+                new SpaceSavingSketch.Estimate(1, 9.5, 0), new SpaceSavingSketch.Estimate(4, 3.0, 1.0))));
+        when(productCache.getAll(List.of(1, 4))).thenReturn(snapshots(1));
+
+        List<TrendingProduct> result = wishlistService.getTrendingProducts(null, 2);
+
+        // product 4 is gone from the catalog and is left out
+        assertEquals(List.of(new TrendingProduct(1, "p1", 9.5, 0)), result);
+        verifyNoInteractions(wishlistRepository);
+    }
+
+    // -ve test case : trending for a window that is not configured
+    @Test
+    void getTrendingProducts_UnknownWindow() {
+        when(trending.getMaxLimit()).thenReturn(100);
+        when(trending.top("week", 10)).thenReturn(Optional.empty());
+
+        assertThrows(InvalidTrendingRequestException.class, () -> wishlistService.getTrendingProducts("week", 10));
+        assertThrows(InvalidTrendingRequestException.class, () -> wishlistService.getTrendingProducts("hour", 101));
+    }
+
+    // -ve test case : count for an unknown user
+    @Test
+    void countWishlistItems_UserNotFound() {
+        when(userRepository.findWishlistItemCount(user.getId())).thenReturn(Optional.empty());
+
+        assertThrows(UserNotFoundException.class, () -> wishlistService.countWishlistItems(user.getId()));
     }
 }
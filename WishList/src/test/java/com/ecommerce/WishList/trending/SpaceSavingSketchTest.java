@@ -0,0 +1,87 @@
+package com.ecommerce.WishList.trending;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceSavingSketchTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    // +ve test case : products are ranked by count, highest first
+    @Test
+    void topOrdersByCount() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(10, HOUR, 0);
+        add(sketch, 1, 3, 0);
+        add(sketch, 2, 5, 0);
+        add(sketch, 3, 1, 0);
+
+        List<SpaceSavingSketch.Estimate> top = sketch.top(2, 0);
+
+        assertEquals(List.of(2, 1), top.stream().map(SpaceSavingSketch.Estimate::productId).toList());
+        assertEquals(5, top.get(0).count(), 1e-9);
+        assertEquals(0, top.get(0).error(), 1e-9);
+    }
+
+    // +ve test case : a new product takes over the smallest counter and inherits its count as error
+    @Test
+    void fullSketchReplacesSmallestCounter() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(2, HOUR, 0);
+        add(sketch, 1, 4, 0);
+        add(sketch, 2, 2, 0);
+        add(sketch, 3, 1, 0);
+
+        assertEquals(2, sketch.size());
+        SpaceSavingSketch.Estimate newcomer = sketch.top(2, 0).get(1);
+        assertEquals(3, newcomer.productId());
+        assertEquals(3, newcomer.count(), 1e-9);
+        assertEquals(2, newcomer.error(), 1e-9);
+    }
+
+    // +ve test case : counts halve every half-life, also across a landmark rescale
+    @Test
+    void countsDecay() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(10, HOUR, 0);
+        add(sketch, 1, 8, 0);
+
+        assertEquals(4, sketch.top(1, HOUR).get(0).count(), 1e-9);
+        assertEquals(1, sketch.top(1, 3 * HOUR).get(0).count(), 1e-9);
+
+        long later = 70 * HOUR;
+        sketch.add(2, 1, later);
+        List<SpaceSavingSketch.Estimate> top = sketch.top(2, later);
+        assertEquals(2, top.get(0).productId());
+        assertEquals(1, top.get(0).count(), 1e-9);
+    }
+
+    // +ve test case : removes lower a tracked count but never below zero; reset replaces every counter
+    @Test
+    void subtractAndReset() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(10, HOUR, 0);
+        add(sketch, 1, 2, 0);
+        sketch.subtract(1, 1, 0);
+        sketch.subtract(2, 1, 0);
+        assertEquals(1, sketch.top(10, 0).get(0).count(), 1e-9);
+
+        sketch.subtract(1, 5, 0);
+        assertTrue(sketch.top(10, 0).isEmpty());
+
+        sketch.reset(Map.of(7, 2.5, 8, 4.0), HOUR);
+        assertEquals(List.of(8, 7), sketch.top(10, HOUR).stream().map(SpaceSavingSketch.Estimate::productId).toList());
+    }
+
+    // -ve test case : a sketch without room is rejected
+    @Test
+    void invalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new SpaceSavingSketch(0, HOUR, 0));
+    }
+
+    private static void add(SpaceSavingSketch sketch, int productId, int times, long now) {
+        for (int i = 0; i < times; i++) {
+            sketch.add(productId, 1, now);
+        }
+    }
+}
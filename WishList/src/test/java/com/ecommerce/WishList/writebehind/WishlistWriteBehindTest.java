@@ -0,0 +1,73 @@
+package com.ecommerce.WishList.writebehind;
+
+import com.ecommerce.WishList.repository.WishlistRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class WishlistWriteBehindTest {
+
+    @TempDir
+    Path journalDir;
+
+    private final WishlistRepository wishlistRepository = mock(WishlistRepository.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private WishlistWriteBehind writeBehind;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        WriteBehindProperties properties = new WriteBehindProperties();
+        properties.setJournalDir(journalDir);
+        when(wishlistRepository.insertAllIfAbsent(anyList())).thenReturn(new int[]{1});
+        writeBehind = new WishlistWriteBehind(properties, wishlistRepository, transactionTemplate,
+                mock(CacheManager.class), mock(ApplicationEventPublisher.class), new SimpleMeterRegistry());
+    }
+
+    // +ve test case : an add being written still counts as in the wishlist, until it is committed
+    @Test
+    void addIsVisibleWhileItsBatchIsWritten() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            writing.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+        });
+        writeBehind.enqueue(WishlistMutation.Type.ADD, 1, 10);
+
+        CompletableFuture<Boolean> flush = CompletableFuture.supplyAsync(writeBehind::flushOnce);
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        assertEquals(Optional.of(WishlistMutation.Type.ADD), writeBehind.pendingType(1, 10));
+
+        release.countDown();
+        assertTrue(flush.get(5, TimeUnit.SECONDS));
+        assertEquals(Optional.empty(), writeBehind.pendingType(1, 10));
+    }
+
+    // -ve test case : while the database is down the batch is kept and stays visible
+    @Test
+    void addIsVisibleWhileTheDatabaseIsDown() {
+        when(transactionTemplate.execute(any())).thenThrow(new CannotCreateTransactionException("down"));
+        writeBehind.enqueue(WishlistMutation.Type.ADD, 1, 10);
+
+        assertThrows(CannotCreateTransactionException.class, writeBehind::flushOnce);
+        assertEquals(Optional.of(WishlistMutation.Type.ADD), writeBehind.pendingType(1, 10));
+    }
+}
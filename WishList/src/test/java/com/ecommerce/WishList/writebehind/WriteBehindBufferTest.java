@@ -0,0 +1,110 @@
+package com.ecommerce.WishList.writebehind;
+
+import com.ecommerce.WishList.Exception.WriteBehindQueueFullException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindBufferTest {
+
+    @TempDir
+    Path journalDir;
+
+    private WriteBehindJournal journal;
+    private WriteBehindBuffer buffer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        journal = new WriteBehindJournal(journalDir, 2, false);
+        buffer = new WriteBehindBuffer(2, Duration.ofMillis(10), journal);
+    }
+
+    // +ve test case : add then remove of the same pair leaves only the remove, at the tail
+    @Test
+    void latestMutationPerPairWins() {
+        buffer.offer(WishlistMutation.Type.ADD, 1, 10);
+        buffer.offer(WishlistMutation.Type.ADD, 1, 11);
+        buffer.offer(WishlistMutation.Type.REMOVE, 1, 10);
+
+        assertEquals(Optional.of(WishlistMutation.Type.REMOVE), buffer.pendingType(1, 10));
+        assertEquals(1, buffer.coalescedCount());
+        assertEquals(2, buffer.oldestPendingSequence());
+
+        List<WishlistMutation> batch = buffer.drain(10);
+        assertEquals(List.of(11, 10), batch.stream().map(WishlistMutation::productId).toList());
+        assertEquals(0, buffer.size());
+        assertEquals(4, buffer.oldestPendingSequence());
+    }
+
+    // +ve test case : drained mutations decide membership until completed; a newer one outlives the batch
+    @Test
+    void inFlightMutationsStayVisible() {
+        buffer.offer(WishlistMutation.Type.ADD, 1, 10);
+        buffer.offer(WishlistMutation.Type.ADD, 1, 11);
+        List<WishlistMutation> batch = buffer.drain(10);
+
+        assertEquals(Optional.of(WishlistMutation.Type.ADD), buffer.pendingType(1, 10));
+        buffer.offer(WishlistMutation.Type.REMOVE, 1, 11);
+
+        buffer.complete(batch);
+        assertEquals(Optional.empty(), buffer.pendingType(1, 10));
+        assertEquals(Optional.of(WishlistMutation.Type.REMOVE), buffer.pendingType(1, 11));
+    }
+
+    // -ve test case : a full queue rejects new pairs after the offer timeout but still takes updates
+    @Test
+    void fullQueueRejectsNewPairs() {
+        buffer.offer(WishlistMutation.Type.ADD, 1, 10);
+        buffer.offer(WishlistMutation.Type.ADD, 1, 11);
+
+        assertThrows(WriteBehindQueueFullException.class, () -> buffer.offer(WishlistMutation.Type.ADD, 1, 12));
+        assertDoesNotThrow(() -> buffer.offer(WishlistMutation.Type.REMOVE, 1, 11));
+    }
+
+    // +ve test case : changes after the checkpoint are replayed, in order, after a restart
+    @Test
+    void journalReplaysAfterCheckpoint() throws IOException {
+        buffer.offer(WishlistMutation.Type.ADD, 1, 10);
+        buffer.drain(1);
+        buffer.offer(WishlistMutation.Type.ADD, 1, 11);
+        buffer.offer(WishlistMutation.Type.REMOVE, 2, 20);
+        journal.checkpoint(1);
+        journal.close();
+
+        WriteBehindJournal reopened = new WriteBehindJournal(journalDir, 2, false);
+        WriteBehindBuffer restored = new WriteBehindBuffer(10, Duration.ZERO, reopened);
+        List<WishlistMutation> recovered = reopened.recover();
+        restored.restore(recovered);
+
+        assertEquals(List.of(2L, 3L), recovered.stream().map(WishlistMutation::sequence).toList());
+        assertEquals(WishlistMutation.Type.REMOVE, recovered.get(1).type());
+        assertEquals(2, restored.size());
+        assertEquals(4, restored.offer(WishlistMutation.Type.ADD, 3, 30).sequence());
+    }
+
+    // +ve test case : segments entirely below the checkpoint are deleted
+    @Test
+    void checkpointDeletesWrittenSegments() throws IOException {
+        WriteBehindBuffer large = new WriteBehindBuffer(10, Duration.ZERO, journal);
+        for (int productId = 1; productId <= 5; productId++) {
+            large.offer(WishlistMutation.Type.ADD, 1, productId);
+        }
+
+        journal.checkpoint(4);
+
+        try (Stream<Path> files = Files.list(journalDir)) {
+            assertEquals(List.of("checkpoint", "segment-00000000000000000005.log"),
+                    files.map(file -> file.getFileName().toString()).sorted().toList());
+        }
+    }
+}